@@ -0,0 +1,185 @@
+import java.awt.Graphics2D;
+import java.awt.Image;
+
+// --- ANIMAÇÃO DO FLUXO DE ELÉTRONS E ÍONS ---
+// Elétrons andam pelo fio do ânodo até o cátodo; na ponte salina os cátions vão para o cátodo
+// e os ânions (SO4 2-) para o ânodo. Quantas partículas nascem por segundo é proporcional à ddp.
+//
+// As partículas ficam em vetores primitivos (uma posição por partícula, sem objetos) e cada trilha
+// é pré-amostrada em AMOSTRAS pontos, então atualizar e desenhar não alocam nada.
+// O limite de partículas se ajusta sozinho: se o quadro passa do orçamento de tempo, o limite cai;
+// sobrando folga, ele volta a subir até a capacidade.
+final class AnimacaoFluxo {
+
+    static final byte ELETRON = 0;
+    static final byte CATION = 1;
+    static final byte ANION = 2;
+    private static final int TRILHAS = 3;
+
+    static final int AMOSTRAS = 256;
+    static final long ORCAMENTO_QUADRO = 16_666_667;       // 60 fps, em nanossegundos
+    private static final double PARTICULAS_POR_VOLT = 100; // por segundo, em cada trilha
+    private static final float RAPIDEZ_MEDIA = 0.25f;      // trilhas por segundo (4 s para atravessar)
+    private static final int LIMITE_MINIMO = 64;
+
+    private final int capacidade;
+    private final float[] progresso;    // 0 = início da trilha, 1 = fim
+    private final float[] rapidez;
+    private final byte[] tipo;
+    private int ativas = 0;
+    private int limite;
+
+    private final int[][] trilhaX = new int[TRILHAS][AMOSTRAS];
+    private final int[][] trilhaY = new int[TRILHAS][AMOSTRAS];
+    private boolean trilhasProntas = false;
+
+    private double fluxo = 0;               // ddp (V) que move as partículas
+    private final double[] aNascer = new double[TRILHAS];
+    private int semente = 0x2545F491;       // xorshift: aleatório sem alocar
+
+    // Média móvel do custo de cada quadro e do intervalo entre quadros
+    private double custoMedio = 0;
+    private double intervaloMedio = ORCAMENTO_QUADRO;
+
+    AnimacaoFluxo(int capacidade) {
+        this.capacidade = capacidade;
+        this.progresso = new float[capacidade];
+        this.rapidez = new float[capacidade];
+        this.tipo = new byte[capacidade];
+        this.limite = capacidade;
+    }
+
+    void setFluxo(double ddp) {
+        this.fluxo = Math.max(0, ddp);
+    }
+
+    int getAtivas() {
+        return ativas;
+    }
+
+    int getLimite() {
+        return limite;
+    }
+
+    // Parado de verdade: sem fluxo e sem partículas no caminho
+    boolean parada() {
+        return fluxo == 0 && ativas == 0;
+    }
+
+    void limpar() {
+        ativas = 0;
+        for (int t = 0; t < TRILHAS; t++) aNascer[t] = 0;
+    }
+
+    // --- TRILHAS (mesmas coordenadas do desenho do PainelPilha) ---
+
+    void definirTrilhas(int w, int h) {
+        int centroY = h / 2 + 10;
+        int offsetEsq = w/2 - 250;
+        int offsetDir = w/2 + 70;
+
+        // Fio: sobe do ânodo (direita), passa pela lâmpada e desce até o cátodo (esquerda)
+        int[] px = {offsetDir + 90, offsetDir + 90, offsetEsq + 90, offsetEsq + 90};
+        int[] py = {centroY - 80, centroY - 180, centroY - 180, centroY - 80};
+        amostrarPoligonal(ELETRON, px, py);
+
+        // Ponte salina: meia elipse sobre os béqueres
+        double cx = w / 2.0;
+        double cy = centroY + 15;
+        for (int k = 0; k < AMOSTRAS; k++) {
+            double angulo = Math.PI * k / (AMOSTRAS - 1);
+            int x = (int) Math.round(cx + 90 * Math.cos(angulo));
+            int y = (int) Math.round(cy - 75 * Math.sin(angulo));
+            trilhaX[CATION][k] = x;                     // da direita para a esquerda (cátodo)
+            trilhaY[CATION][k] = y;
+            trilhaX[ANION][AMOSTRAS - 1 - k] = x;       // da esquerda para a direita (ânodo)
+            trilhaY[ANION][AMOSTRAS - 1 - k] = y;
+        }
+        trilhasProntas = true;
+    }
+
+    private void amostrarPoligonal(int trilha, int[] px, int[] py) {
+        double total = 0;
+        for (int i = 1; i < px.length; i++) total += Math.hypot(px[i] - px[i - 1], py[i] - py[i - 1]);
+        int segmento = 1;
+        double inicioSegmento = 0;
+        for (int k = 0; k < AMOSTRAS; k++) {
+            double distancia = total * k / (AMOSTRAS - 1);
+            double tamanho = Math.hypot(px[segmento] - px[segmento - 1], py[segmento] - py[segmento - 1]);
+            while (segmento < px.length - 1 && distancia > inicioSegmento + tamanho) {
+                inicioSegmento += tamanho;
+                segmento++;
+                tamanho = Math.hypot(px[segmento] - px[segmento - 1], py[segmento] - py[segmento - 1]);
+            }
+            double f = tamanho == 0 ? 0 : Math.min(1, (distancia - inicioSegmento) / tamanho);
+            trilhaX[trilha][k] = (int) Math.round(px[segmento - 1] + (px[segmento] - px[segmento - 1]) * f);
+            trilhaY[trilha][k] = (int) Math.round(py[segmento - 1] + (py[segmento] - py[segmento - 1]) * f);
+        }
+    }
+
+    // --- PASSO (sem alocação) ---
+
+    void atualizar(double dt) {
+        // Move e recicla as que chegaram ao fim (troca com a última ativa)
+        float passo = (float) dt;
+        int i = 0;
+        while (i < ativas) {
+            float p = progresso[i] + rapidez[i] * passo;
+            if (p >= 1f) {
+                ativas--;
+                progresso[i] = progresso[ativas];
+                rapidez[i] = rapidez[ativas];
+                tipo[i] = tipo[ativas];
+            } else {
+                progresso[i] = p;
+                i++;
+            }
+        }
+
+        // Nascimentos proporcionais à ddp, respeitando o limite atual
+        double taxa = fluxo * PARTICULAS_POR_VOLT * dt;
+        for (byte t = 0; t < TRILHAS; t++) {
+            aNascer[t] += taxa;
+            while (aNascer[t] >= 1 && ativas < limite) {
+                aNascer[t] -= 1;
+                progresso[ativas] = 0;
+                rapidez[ativas] = RAPIDEZ_MEDIA * (0.8f + 0.4f * aleatorio());
+                tipo[ativas] = t;
+                ativas++;
+            }
+            if (ativas >= limite) aNascer[t] = 0;
+        }
+    }
+
+    private float aleatorio() {
+        semente ^= semente << 13;
+        semente ^= semente >>> 17;
+        semente ^= semente << 5;
+        return (semente >>> 8) / (float) (1 << 24);
+    }
+
+    // Cada partícula é um blit da figura pronta do seu tipo (sprites[ELETRON], [CATION], [ANION])
+    void desenhar(Graphics2D g2, Image[] sprites, int meioSprite) {
+        if (!trilhasProntas) return;
+        for (int i = 0; i < ativas; i++) {
+            int t = tipo[i];
+            int k = (int) (progresso[i] * (AMOSTRAS - 1));
+            g2.drawImage(sprites[t], trilhaX[t][k] - meioSprite, trilhaY[t][k] - meioSprite, null);
+        }
+    }
+
+    // --- ORÇAMENTO DE TEMPO POR QUADRO ---
+    // custo = tempo gasto pintando; intervalo = tempo real desde o quadro anterior
+    void registrarQuadro(long custo, long intervalo) {
+        custoMedio = custoMedio * 0.9 + custo * 0.1;
+        intervaloMedio = intervaloMedio * 0.9 + intervalo * 0.1;
+        boolean atrasado = custoMedio > ORCAMENTO_QUADRO * 0.75 || intervaloMedio > ORCAMENTO_QUADRO * 1.25;
+        if (atrasado) {
+            // Reduz já: as partículas acima do novo limite são descartadas aqui mesmo, antes do próximo quadro
+            limite = Math.max(LIMITE_MINIMO, (int) (limite * 0.8));
+            if (ativas > limite) ativas = limite;
+        } else if (custoMedio < ORCAMENTO_QUADRO * 0.4 && limite < capacidade) {
+            limite = Math.min(capacidade, limite + Math.max(1, limite / 10));
+        }
+    }
+}
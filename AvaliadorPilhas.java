@@ -0,0 +1,195 @@
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// --- AVALIAÇÃO DE PILHAS EM LOTE (SEM INTERFACE GRÁFICA) ---
+// Cada par redox da tabela (metal + íon) vira um índice e os potenciais ficam num double[].
+// Assim dá para calcular todas as combinações ânodo/cátodo de uma vez, sem abrir a janela.
+final class AvaliadorPilhas {
+
+    // Uma pilha montada: quem oxida, quem reduz, a reação balanceada e a ddp
+    record ResultadoPilha(informacoesEspecies anodo, informacoesEspecies catodo,
+                          BalanceadorEquacoes.EquacaoBalanceada reacao, double ddp) {
+
+        String equacao() {
+            return reacao.global();
+        }
+
+        // ΔG° = -nFE°, em J/mol
+        double energiaLivre() {
+            return reacao.energiaLivre(ddp);
+        }
+    }
+
+    // Recebe cada par sem criar objetos (índices dos pares redox + ddp).
+    // Pode ser chamado de várias threads ao mesmo tempo.
+    @FunctionalInterface
+    interface ConsumidorPar {
+        void aceitar(int anodo, int catodo, double ddp);
+    }
+
+    // Abaixo disso (em número de pares da linha) não vale a pena dividir a tarefa
+    private static final int LIMIAR_SEQUENCIAL = 4096;
+
+    private final CatalogoEspecies catalogo;
+    private final int[] posicoes;       // posição no catálogo de cada forma reduzida
+    private final double[] potenciais;
+
+    public AvaliadorPilhas(Map<Integer, informacoesEspecies> tabela) {
+        this(new CatalogoEspecies(tabela));
+    }
+
+    public AvaliadorPilhas(CatalogoEspecies catalogo) {
+        // Só a forma reduzida (o metal) representa o par; a oxidada é a formaOposta dela.
+        // Lê direto das colunas do catálogo: o objeto da espécie só é criado quando um resultado é pedido.
+        this.catalogo = catalogo;
+        int quantidade = 0;
+        for (int i = 0; i < catalogo.tamanho(); i++) {
+            if (catalogo.isReduzida(i)) quantidade++;
+        }
+        posicoes = new int[quantidade];
+        potenciais = new double[quantidade];
+        int k = 0;
+        for (int i = 0; i < catalogo.tamanho(); i++) {
+            if (!catalogo.isReduzida(i)) continue;
+            posicoes[k] = i;
+            potenciais[k] = catalogo.getPotencial(i);
+            k++;
+        }
+    }
+
+    public int getQuantidadePares() {
+        return posicoes.length;
+    }
+
+    public informacoesEspecies getParRedox(int indice) {
+        return catalogo.get(posicoes[indice]);
+    }
+
+    // Número de pilhas diferentes: n * (n - 1) / 2
+    public long getQuantidadePilhas() {
+        long n = posicoes.length;
+        return n * (n - 1) / 2;
+    }
+
+    // --- REGRAS DA PILHA (as mesmas usadas pela janela) ---
+
+    // Recebe as duas formas reduzidas; o maior potencial de redução vira o cátodo
+    static ResultadoPilha avaliar(informacoesEspecies metal1, informacoesEspecies metal2) {
+        return avaliar(metal1, metal2, null);
+    }
+
+    // Com um balanceador, a equação de cada par ordenado é montada uma vez só
+    static ResultadoPilha avaliar(informacoesEspecies metal1, informacoesEspecies metal2, BalanceadorEquacoes balanceador) {
+        informacoesEspecies catodo = metal1.potencial() > metal2.potencial() ? metal1 : metal2;
+        informacoesEspecies anodo = catodo == metal1 ? metal2 : metal1;
+        double ddp = catodo.potencial() - anodo.potencial();
+        BalanceadorEquacoes.EquacaoBalanceada reacao = balanceador != null
+                ? balanceador.equacao(anodo, catodo)
+                : BalanceadorEquacoes.balancear(anodo, catodo);
+        return new ResultadoPilha(anodo, catodo, reacao, ddp);
+    }
+
+    // As duas espécies escolhidas na tabela (metal ou íon, já validadas com ErroSelecao):
+    // cada uma é trocada pela forma reduzida do seu par antes de comparar
+    static ResultadoPilha avaliarSelecao(CatalogoEspecies catalogo, informacoesEspecies primeira, informacoesEspecies segunda) {
+        informacoesEspecies metal1 = primeira.tipo().equals("reduzida") ? primeira : catalogo.oposta(primeira);
+        informacoesEspecies metal2 = segunda.tipo().equals("reduzida") ? segunda : catalogo.oposta(segunda);
+        return avaliar(metal1, metal2, catalogo.equacoes());
+    }
+
+    public ResultadoPilha avaliar(int parA, int parB) {
+        return avaliar(getParRedox(parA), getParRedox(parB), catalogo.equacoes());
+    }
+
+    // --- TODAS AS COMBINAÇÕES ---
+
+    // Chama o consumidor para cada par i < j, dividindo as linhas entre as threads do pool
+    public void paraCadaPar(ConsumidorPar consumidor) {
+        if (posicoes.length < 2) return;
+        ForkJoinPool.commonPool().invoke(new TarefaLinhas(0, posicoes.length - 1, consumidor));
+    }
+
+    // Resultado em vetores primitivos; a equação só é balanceada quando alguém pede
+    public LotePilhas avaliarTodos() {
+        long total = getQuantidadePilhas();
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Tabela grande demais para guardar todas as " + total + " pilhas; use paraCadaPar().");
+        }
+        LotePilhas lote = new LotePilhas((int) total);
+        int n = posicoes.length;
+        paraCadaPar((anodo, catodo, ddp) -> {
+            int i = Math.min(anodo, catodo);
+            int j = Math.max(anodo, catodo);
+            int k = (int) ((long) i * (2L * n - i - 1) / 2 + (j - i - 1));
+            lote.anodos[k] = anodo;
+            lote.catodos[k] = catodo;
+            lote.ddps[k] = ddp;
+        });
+        return lote;
+    }
+
+    private void avaliarLinha(int i, ConsumidorPar consumidor) {
+        double pi = potenciais[i];
+        for (int j = i + 1; j < potenciais.length; j++) {
+            double pj = potenciais[j];
+            // Mesmo critério de avaliar(): em caso de empate o segundo vira cátodo
+            if (pi > pj) {
+                consumidor.aceitar(j, i, pi - pj);
+            } else {
+                consumidor.aceitar(i, j, pj - pi);
+            }
+        }
+    }
+
+    private final class TarefaLinhas extends RecursiveAction {
+        private final int inicio;
+        private final int fim;
+        private final ConsumidorPar consumidor;
+
+        TarefaLinhas(int inicio, int fim, ConsumidorPar consumidor) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        protected void compute() {
+            // A linha i tem (n - 1 - i) pares, então as primeiras linhas pesam mais
+            long trabalho = 0;
+            for (int i = inicio; i < fim && trabalho <= LIMIAR_SEQUENCIAL; i++) {
+                trabalho += potenciais.length - 1 - i;
+            }
+            if (fim - inicio <= 1 || trabalho <= LIMIAR_SEQUENCIAL) {
+                for (int i = inicio; i < fim; i++) avaliarLinha(i, consumidor);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new TarefaLinhas(inicio, meio, consumidor), new TarefaLinhas(meio, fim, consumidor));
+        }
+    }
+
+    // Todas as pilhas de uma tabela, na ordem (0,1), (0,2), ..., (1,2), ...
+    final class LotePilhas {
+        final int[] anodos;
+        final int[] catodos;
+        final double[] ddps;
+
+        private LotePilhas(int tamanho) {
+            anodos = new int[tamanho];
+            catodos = new int[tamanho];
+            ddps = new double[tamanho];
+        }
+
+        public int tamanho() {
+            return ddps.length;
+        }
+
+        public ResultadoPilha resultado(int k) {
+            informacoesEspecies anodo = getParRedox(anodos[k]);
+            informacoesEspecies catodo = getParRedox(catodos[k]);
+            BalanceadorEquacoes.EquacaoBalanceada reacao = catalogo.equacoes().equacao(posicoes[anodos[k]], posicoes[catodos[k]]);
+            return new ResultadoPilha(anodo, catodo, reacao, ddps[k]);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// --- BALANCEAMENTO DA EQUAÇÃO GLOBAL ---
+// Primeiro cada par vira uma semirreação de redução balanceada em massa e carga (método íon-elétron,
+// meio ácido): os elementos que não são O nem H fixam os coeficientes das duas formas, o O é completado
+// com H2O, o H com H+ e a carga com elétrons:
+//     Cl2(g) + 2 e- -> 2 Cl-(aq)
+//     MnO4-(aq) + 8 H+(aq) + 5 e- -> Mn2+(aq) + 4 H2O(l)
+// Cada par troca então um número próprio de elétrons z. A reação global usa n = mmc(zÂnodo, zCátodo)
+// elétrons, então cada semirreação é multiplicada por n / z (H+ e H2O dos dois lados se compensam):
+//     oxidação:  2 Al(s) -> 2 Al3+(aq) + 6 e-
+//     redução:   3 Cu2+(aq) + 6 e- -> 3 Cu(s)
+//     global:    2 Al(s) + 3 Cu2+(aq) -> 2 Al3+(aq) + 3 Cu(s)        (n = 6, ΔG = -nFE)
+// As semirreações são mostradas por mol do próprio par (sem o fator n / z), como nas tabelas de potenciais.
+// Um par que não fecha assim (elemento de um lado só, fórmula ilegível) deixa a equação marcada como
+// não balanceada: os elétrons vêm do catálogo e a equação global não deve ser mostrada como certa.
+//
+// Um balanceador pertence a um catálogo e guarda as equações já montadas por par ordenado
+// (posição do ânodo, posição do cátodo), até CAPACIDADE_PADRAO delas; as menos usadas saem primeiro.
+final class BalanceadorEquacoes {
+
+    static final int CAPACIDADE_PADRAO = 4096;
+
+    private static final String H = "H+(aq)";
+    private static final String AGUA = "H2O(l)";
+
+    // Redução de um par balanceada:  oxidada Ox + hidrogenios H+ + eletrons e- -> reduzida Red + aguas H2O
+    // (hidrogenios ou aguas negativos = do outro lado)
+    record Semirreacao(int oxidada, int reduzida, int hidrogenios, int aguas, int eletrons) {}
+
+    // Equação de uma pilha: global, semirreações (ânodo oxida, cátodo reduz), n e se fechou em massa e carga.
+    // expoenteIonAnodo/Catodo: coeficiente do íon em solução de cada par na sua semirreação de redução,
+    // por elétron (+ do lado da forma oxidada, - do lado da reduzida, 0 se o par não tem íon). É o que a
+    // equação de Nernst usa:  ln Q = n (expoenteIonAnodo ln[íon do ânodo] - expoenteIonCatodo ln[íon do cátodo])
+    record EquacaoBalanceada(String global, String semiOxidacao, String semiReducao,
+                             int eletrons, boolean balanceada, double expoenteIonAnodo, double expoenteIonCatodo) {
+
+        // ΔG = -nFE, em J/mol de reação (negativo = espontânea)
+        double energiaLivre(double ddp) {
+            return -eletrons * Nernst.F * ddp;
+        }
+    }
+
+    private final CatalogoEspecies catalogo;
+    private final Map<Long, EquacaoBalanceada> cache;
+
+    BalanceadorEquacoes(CatalogoEspecies catalogo, int capacidade) {
+        this.catalogo = catalogo;
+        this.cache = new LinkedHashMap<>(Math.min(capacidade, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EquacaoBalanceada> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    // Recebe as formas reduzidas (metais) já no papel de ânodo e cátodo
+    static EquacaoBalanceada balancear(informacoesEspecies anodo, informacoesEspecies catodo) {
+        Semirreacao semiAnodo = semirreacao(anodo.formulaOposta(), anodo.formula());
+        Semirreacao semiCatodo = semirreacao(catodo.formulaOposta(), catodo.formula());
+        if (semiAnodo == null || semiCatodo == null) return semBalancoDeMassa(anodo, catodo);
+
+        int n = mmc(semiAnodo.eletrons(), semiCatodo.eletrons());
+        int kAnodo = n / semiAnodo.eletrons();
+        int kCatodo = n / semiCatodo.eletrons();
+
+        // Coeficiente líquido de cada espécie (> 0 reagente, < 0 produto): H+ e H2O que também sejam forma
+        // de um par (H+/H2, O2/H2O) se compensam com os do balanceamento
+        Map<String, Integer> coeficientes = new LinkedHashMap<>();
+        coeficientes.merge(anodo.forma(), kAnodo * semiAnodo.reduzida(), Integer::sum);
+        coeficientes.merge(catodo.formaOposta(), kCatodo * semiCatodo.oxidada(), Integer::sum);
+        coeficientes.merge(anodo.formaOposta(), -kAnodo * semiAnodo.oxidada(), Integer::sum);
+        coeficientes.merge(catodo.forma(), -kCatodo * semiCatodo.reduzida(), Integer::sum);
+        coeficientes.merge(H, kCatodo * semiCatodo.hidrogenios() - kAnodo * semiAnodo.hidrogenios(), Integer::sum);
+        coeficientes.merge(AGUA, kAnodo * semiAnodo.aguas() - kCatodo * semiCatodo.aguas(), Integer::sum);
+        List<String> reagentes = new ArrayList<>();
+        List<String> produtos = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : coeficientes.entrySet()) {
+            if (e.getValue() > 0) reagentes.add(termo(e.getValue(), e.getKey()));
+            else if (e.getValue() < 0) produtos.add(termo(-e.getValue(), e.getKey()));
+        }
+        String global = String.join(" + ", reagentes) + " -> " + String.join(" + ", produtos);
+        String oxidacao = ladoReduzido(semiAnodo, anodo) + " -> " + ladoOxidado(semiAnodo, anodo);
+        String reducao = ladoOxidado(semiCatodo, catodo) + " -> " + ladoReduzido(semiCatodo, catodo);
+        return new EquacaoBalanceada(global, oxidacao, reducao, n, true,
+                expoenteIon(semiAnodo, anodo), expoenteIon(semiCatodo, catodo));
+    }
+
+    // Só as formas do par e os elétrons do catálogo: a carga fecha, a massa pode não fechar
+    private static EquacaoBalanceada semBalancoDeMassa(informacoesEspecies anodo, informacoesEspecies catodo) {
+        int zAnodo = anodo.eletrons();
+        int zCatodo = catodo.eletrons();
+        if (zAnodo <= 0 || zCatodo <= 0) throw new IllegalArgumentException("Número de elétrons deve ser positivo");
+        int n = mmc(zAnodo, zCatodo);
+        int coefAnodo = n / zAnodo;
+        int coefCatodo = n / zCatodo;
+
+        String global = lado(termo(coefAnodo, anodo.forma()), termo(coefCatodo, catodo.formaOposta()))
+                + " -> " + lado(termo(coefAnodo, anodo.formaOposta()), termo(coefCatodo, catodo.forma()));
+        String oxidacao = anodo.forma() + " -> " + lado(anodo.formaOposta(), termo(zAnodo, "e-"));
+        String reducao = lado(catodo.formaOposta(), termo(zCatodo, "e-")) + " -> " + catodo.forma();
+        return new EquacaoBalanceada(global, oxidacao, reducao, n, false,
+                expoenteIon(new Semirreacao(1, 1, 0, 0, zAnodo), anodo), expoenteIon(new Semirreacao(1, 1, 0, 0, zCatodo), catodo));
+    }
+
+    // O íon do par é a forma em solução: a oxidada (Zn2+/Zn, MnO4-/Mn2+) ou, se ela não for, a reduzida
+    // (Cl2/Cl-). Sem estado escrito, vale a forma com carga. Par = forma reduzida.
+    private static double expoenteIon(Semirreacao s, informacoesEspecies par) {
+        if (emSolucao(par.formulaOposta())) return (double) s.oxidada() / s.eletrons();
+        if (emSolucao(par.formula())) return -(double) s.reduzida() / s.eletrons();
+        return 0;
+    }
+
+    private static boolean emSolucao(FormulaQuimica formula) {
+        return formula.estado().isEmpty() ? formula.carga() != 0 : formula.estado().equals("aq");
+    }
+
+    // n da semirreação balanceada; par que não se balanceia fica com a diferença de carga
+    static int eletronsDoPar(FormulaQuimica oxidada, FormulaQuimica reduzida) {
+        Semirreacao semirreacao = semirreacao(oxidada, reduzida);
+        return semirreacao != null ? semirreacao.eletrons() : Math.abs(oxidada.carga() - reduzida.carga());
+    }
+
+    // Formas oxidada e reduzida do par; null se não fechar só com H2O e H+
+    static Semirreacao semirreacao(FormulaQuimica oxidada, FormulaQuimica reduzida) {
+        Map<String, Integer> ox;
+        Map<String, Integer> red;
+        try {
+            ox = oxidada.atomos();
+            red = reduzida.atomos();
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return null;
+        }
+
+        // Elementos que fixam os coeficientes: todos menos O e H; sem nenhum, o O (O2/H2O) ou o H (H+/H2)
+        TreeSet<String> chaves = new TreeSet<>(ox.keySet());
+        chaves.addAll(red.keySet());
+        chaves.remove("O");
+        chaves.remove("H");
+        if (chaves.isEmpty()) chaves.add(ox.containsKey("O") && red.containsKey("O") ? "O" : "H");
+
+        int a = 0;
+        int b = 0;
+        for (String elemento : chaves) {
+            int x = ox.getOrDefault(elemento, 0);
+            int y = red.getOrDefault(elemento, 0);
+            if (x == 0 || y == 0) return null;
+            if (a == 0) {
+                int d = mdc(x, y);
+                a = y / d;
+                b = x / d;
+            } else if ((long) a * x != (long) b * y) {
+                return null;
+            }
+        }
+
+        try {
+            int aguas = Math.subtractExact(Math.multiplyExact(a, ox.getOrDefault("O", 0)), Math.multiplyExact(b, red.getOrDefault("O", 0)));
+            int hidrogenios = Math.addExact(Math.subtractExact(Math.multiplyExact(b, red.getOrDefault("H", 0)),
+                    Math.multiplyExact(a, ox.getOrDefault("H", 0))), Math.multiplyExact(2, aguas));
+            int eletrons = Math.subtractExact(Math.addExact(Math.multiplyExact(a, oxidada.carga()), hidrogenios),
+                    Math.multiplyExact(b, reduzida.carga()));
+            if (eletrons <= 0) return null;
+            return new Semirreacao(a, b, hidrogenios, aguas, eletrons);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Pelas posições no catálogo (ânodo, cátodo); a ordem importa
+    synchronized EquacaoBalanceada equacao(int posicaoAnodo, int posicaoCatodo) {
+        long chave = ((long) posicaoAnodo << 32) | (posicaoCatodo & 0xFFFFFFFFL);
+        EquacaoBalanceada equacao = cache.get(chave);
+        if (equacao == null) {
+            equacao = balancear(catalogo.get(posicaoAnodo), catalogo.get(posicaoCatodo));
+            cache.put(chave, equacao);
+        }
+        return equacao;
+    }
+
+    // Espécies fora do catálogo são balanceadas sem passar pelo cache
+    EquacaoBalanceada equacao(informacoesEspecies anodo, informacoesEspecies catodo) {
+        int posicaoAnodo = catalogo.posicaoDaEspecie(anodo);
+        int posicaoCatodo = catalogo.posicaoDaEspecie(catodo);
+        if (posicaoAnodo < 0 || posicaoCatodo < 0
+                || !catalogo.get(posicaoAnodo).equals(anodo) || !catalogo.get(posicaoCatodo).equals(catodo)) {
+            return balancear(anodo, catodo);
+        }
+        return equacao(posicaoAnodo, posicaoCatodo);
+    }
+
+    synchronized int getTamanhoCache() {
+        return cache.size();
+    }
+
+    static int mmc(int a, int b) {
+        return a / mdc(a, b) * b;
+    }
+
+    private static int mdc(int a, int b) {
+        while (b != 0) {
+            int resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
+    }
+
+    // Lado da semirreação com a forma oxidada (e os elétrons) e lado com a forma reduzida; par = forma reduzida
+    private static String ladoOxidado(Semirreacao s, informacoesEspecies par) {
+        return lado(termo(s.oxidada(), par.formaOposta()), termo(s.hidrogenios(), H), termo(-s.aguas(), AGUA),
+                termo(s.eletrons(), "e-"));
+    }
+
+    private static String ladoReduzido(Semirreacao s, informacoesEspecies par) {
+        return lado(termo(s.reduzida(), par.forma()), termo(s.aguas(), AGUA), termo(-s.hidrogenios(), H));
+    }
+
+    // Coeficiente zero ou negativo: a espécie não entra neste lado (null)
+    private static String termo(int coeficiente, String especie) {
+        if (coeficiente <= 0) return null;
+        return coeficiente == 1 ? especie : coeficiente + " " + especie;
+    }
+
+    private static String lado(String... termos) {
+        List<String> presentes = new ArrayList<>(termos.length);
+        for (String t : termos) if (t != null) presentes.add(t);
+        return String.join(" + ", presentes);
+    }
+}
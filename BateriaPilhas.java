@@ -0,0 +1,257 @@
+import java.util.Arrays;
+
+// --- BATERIA DE PILHAS EM SÉRIE E PARALELO ---
+// A bateria é uma árvore: as folhas são pilhas (fem + resistência interna) e os nós internos são grupos
+// em série ou em paralelo. Cada nó guarda o seu equivalente de Thévenin (E, R):
+//     série:     E = soma dos E            R = soma dos R
+//     paralelo:  E = (soma E/R) / (soma 1/R)   R = 1 / (soma 1/R)      (teorema de Millman)
+// Grupo vazio é circuito aberto (R infinita) e some do paralelo; num grupo em série, abre o grupo todo.
+//
+// Alterar uma pilha marca como "sujos" só ela e os grupos acima dela. Na próxima consulta só os nós
+// sujos são refeitos; ramos que não mudaram devolvem o valor guardado. Os nós ficam em vetores
+// (uma posição por nó, filhos como lista encadeada de índices), no mesmo esquema da SimulacaoDescarga.
+// Não é thread-safe: pensado para ser editado e consultado na EDT.
+final class BateriaPilhas {
+
+    static final byte CELULA = 0;
+    static final byte SERIE = 1;
+    static final byte PARALELO = 2;
+
+    private static final int NENHUM = -1;
+
+    // --- NÓS (posição 0 = raiz) ---
+    private int quantidade = 0;
+    private byte[] tipo = new byte[16];
+    private int[] pai = new int[16];
+    private int[] primeiroFilho = new int[16];
+    private int[] ultimoFilho = new int[16];
+    private int[] proximoIrmao = new int[16];
+    private double[] fem = new double[16];               // só células
+    private double[] resistenciaInterna = new double[16]; // só células
+    private double[] tensaoEquivalente = new double[16];
+    private double[] resistenciaEquivalente = new double[16];
+    private boolean[] sujo = new boolean[16];
+    private int celulas = 0;
+    private int recalculados = 0;
+
+    BateriaPilhas(byte tipoRaiz) {
+        novoNo(tipoGrupo(tipoRaiz), NENHUM);
+    }
+
+    int raiz() {
+        return 0;
+    }
+
+    int getQuantidadeCelulas() {
+        return celulas;
+    }
+
+    // Quantos nós a última consulta precisou refazer (0 = tudo já estava em dia)
+    int getRecalculados() {
+        return recalculados;
+    }
+
+    // --- MONTAGEM E EDIÇÃO ---
+
+    int adicionarGrupo(int grupo, byte tipoGrupo) {
+        verificarGrupo(grupo);
+        return novoNo(tipoGrupo(tipoGrupo), grupo);
+    }
+
+    int adicionarCelula(int grupo, double fem, double resistenciaInterna) {
+        verificarGrupo(grupo);
+        validarCelula(fem, resistenciaInterna);
+        int no = novoNo(CELULA, grupo);
+        this.fem[no] = fem;
+        this.resistenciaInterna[no] = resistenciaInterna;
+        celulas++;
+        return no;
+    }
+
+    int adicionarCelula(int grupo, AvaliadorPilhas.ResultadoPilha pilha, double resistenciaInterna) {
+        return adicionarCelula(grupo, pilha.ddp(), resistenciaInterna);
+    }
+
+    void alterarCelula(int celula, double fem, double resistenciaInterna) {
+        if (celula < 0 || celula >= quantidade || tipo[celula] != CELULA || !ligadoARaiz(celula)) {
+            throw new IllegalArgumentException("Não é uma pilha da bateria: " + celula);
+        }
+        validarCelula(fem, resistenciaInterna);
+        if (this.fem[celula] == fem && this.resistenciaInterna[celula] == resistenciaInterna) return;
+        this.fem[celula] = fem;
+        this.resistenciaInterna[celula] = resistenciaInterna;
+        marcarSujo(celula);
+    }
+
+    // Tira o nó (e tudo abaixo dele) da bateria; o índice não é reaproveitado
+    void remover(int no) {
+        if (no <= 0 || no >= quantidade || !ligadoARaiz(no)) throw new IllegalArgumentException("Nó inválido: " + no);
+        int grupo = pai[no];
+        int anterior = NENHUM;
+        for (int f = primeiroFilho[grupo]; f != no; f = proximoIrmao[f]) anterior = f;
+        if (anterior == NENHUM) primeiroFilho[grupo] = proximoIrmao[no];
+        else proximoIrmao[anterior] = proximoIrmao[no];
+        if (ultimoFilho[grupo] == no) ultimoFilho[grupo] = anterior;
+        celulas -= contarCelulas(no);
+        pai[no] = NENHUM;
+        marcarSujo(grupo);
+    }
+
+    // --- CONSULTAS ---
+
+    double getTensao() {
+        atualizar();
+        return tensaoEquivalente[0];
+    }
+
+    double getResistencia() {
+        atualizar();
+        return resistenciaEquivalente[0];
+    }
+
+    // Equivalente de qualquer nó (pilha ou grupo)
+    double getTensao(int no) {
+        atualizar();
+        return tensaoEquivalente[no];
+    }
+
+    double getResistencia(int no) {
+        atualizar();
+        return resistenciaEquivalente[no];
+    }
+
+    // Corrente pela carga externa: I = E / (R + Rcarga); 0 se a bateria estiver aberta
+    double corrente(double resistenciaCarga) {
+        atualizar();
+        double r = resistenciaEquivalente[0] + resistenciaCarga;
+        return Double.isInfinite(r) || r <= 0 ? 0 : tensaoEquivalente[0] / r;
+    }
+
+    // --- RECÁLCULO INCREMENTAL ---
+
+    private void atualizar() {
+        recalculados = 0;
+        recalcular(0);
+    }
+
+    private void recalcular(int no) {
+        if (!sujo[no]) return;
+        recalculados++;
+        sujo[no] = false;
+        if (tipo[no] == CELULA) {
+            tensaoEquivalente[no] = fem[no];
+            resistenciaEquivalente[no] = resistenciaInterna[no];
+            return;
+        }
+
+        boolean serie = tipo[no] == SERIE;
+        boolean vazio = true;
+        boolean aberto = false;
+        double somaE = 0;
+        double somaR = 0;          // série: soma de R; paralelo: soma de 1/R
+        double somaCorrentes = 0;  // paralelo: soma de E/R
+        for (int f = primeiroFilho[no]; f != NENHUM; f = proximoIrmao[f]) {
+            recalcular(f);
+            double r = resistenciaEquivalente[f];
+            if (Double.isInfinite(r)) {
+                if (serie) aberto = true;
+                continue;
+            }
+            vazio = false;
+            if (serie) {
+                somaE += tensaoEquivalente[f];
+                somaR += r;
+            } else {
+                somaR += 1 / r;
+                somaCorrentes += tensaoEquivalente[f] / r;
+            }
+        }
+
+        if (vazio || aberto) {
+            tensaoEquivalente[no] = 0;
+            resistenciaEquivalente[no] = Double.POSITIVE_INFINITY;
+        } else if (serie) {
+            tensaoEquivalente[no] = somaE;
+            resistenciaEquivalente[no] = somaR;
+        } else {
+            tensaoEquivalente[no] = somaCorrentes / somaR;
+            resistenciaEquivalente[no] = 1 / somaR;
+        }
+    }
+
+    // Sobe até a raiz; se um nó já está sujo, os de cima também estão
+    private void marcarSujo(int no) {
+        while (no != NENHUM && !sujo[no]) {
+            sujo[no] = true;
+            no = pai[no];
+        }
+    }
+
+    // --- AUXILIARES ---
+
+    private int novoNo(byte tipoNo, int grupo) {
+        if (quantidade == tipo.length) crescer(quantidade * 2);
+        int no = quantidade++;
+        tipo[no] = tipoNo;
+        pai[no] = grupo;
+        primeiroFilho[no] = NENHUM;
+        ultimoFilho[no] = NENHUM;
+        proximoIrmao[no] = NENHUM;
+        sujo[no] = false;
+        if (grupo != NENHUM) {
+            if (ultimoFilho[grupo] == NENHUM) primeiroFilho[grupo] = no;
+            else proximoIrmao[ultimoFilho[grupo]] = no;
+            ultimoFilho[grupo] = no;
+        }
+        marcarSujo(no);
+        return no;
+    }
+
+    private void crescer(int capacidade) {
+        tipo = Arrays.copyOf(tipo, capacidade);
+        pai = Arrays.copyOf(pai, capacidade);
+        primeiroFilho = Arrays.copyOf(primeiroFilho, capacidade);
+        ultimoFilho = Arrays.copyOf(ultimoFilho, capacidade);
+        proximoIrmao = Arrays.copyOf(proximoIrmao, capacidade);
+        fem = Arrays.copyOf(fem, capacidade);
+        resistenciaInterna = Arrays.copyOf(resistenciaInterna, capacidade);
+        tensaoEquivalente = Arrays.copyOf(tensaoEquivalente, capacidade);
+        resistenciaEquivalente = Arrays.copyOf(resistenciaEquivalente, capacidade);
+        sujo = Arrays.copyOf(sujo, capacidade);
+    }
+
+    private int contarCelulas(int no) {
+        if (tipo[no] == CELULA) return 1;
+        int total = 0;
+        for (int f = primeiroFilho[no]; f != NENHUM; f = proximoIrmao[f]) total += contarCelulas(f);
+        return total;
+    }
+
+    private void verificarGrupo(int grupo) {
+        if (grupo < 0 || grupo >= quantidade || tipo[grupo] == CELULA || !ligadoARaiz(grupo)) {
+            throw new IllegalArgumentException("Não é um grupo da bateria: " + grupo);
+        }
+    }
+
+    // Só o nó removido perde o pai; quem estava abaixo dele continua apontando para cima, então é
+    // preciso subir até a raiz. Mexer num ramo solto sujaria nós que a raiz nunca mais lê.
+    private boolean ligadoARaiz(int no) {
+        while (no != 0) {
+            no = pai[no];
+            if (no == NENHUM) return false;
+        }
+        return true;
+    }
+
+    private static byte tipoGrupo(byte tipo) {
+        if (tipo != SERIE && tipo != PARALELO) throw new IllegalArgumentException("Grupo deve ser SERIE ou PARALELO");
+        return tipo;
+    }
+
+    private static void validarCelula(double fem, double resistenciaInterna) {
+        if (!Double.isFinite(fem)) throw new IllegalArgumentException("fem inválida: " + fem);
+        if (!(resistenciaInterna > 0) || Double.isInfinite(resistenciaInterna)) {
+            throw new IllegalArgumentException("Resistência interna deve ser positiva: " + resistenciaInterna);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+// --- BENCHMARKS DOS CAMINHOS QUENTES ---
+// Mede, em catálogos sintéticos de 20 a 100 mil pares, o que a janela faz a cada clique e a cada quadro:
+//   resolucao.*  forma -> ID e validação da seleção (processarSelecao)
+//   avaliacao.*  montagem da pilha (finalizarSimulacao)
+//   simbolo.*    leitura da fórmula (informacoesEspecies)
+//   render.*     PainelPilha desenhado numa BufferedImage, com e sem cache, em vários tamanhos
+//
+//   javac -encoding UTF-8 *.java && java BenchmarkPilhas [filtro] [--pares 20,1000] [--csv arquivo] [--rapido]
+//   mvn -P jmh package && java -jar target/benchmarks.jar    (as mesmas operações medidas pelo JMH)
+//
+// Cada medida segue o esquema do JMH: iterações de aquecimento descartadas, depois iterações medidas
+// com média e desvio padrão em ns/op. Os resultados das operações vão para um sumidouro para o JIT
+// não eliminar o trabalho. Com --csv, cada linha é acrescentada ao arquivo (para comparar versões).
+final class BenchmarkPilhas {
+
+    @FunctionalInterface
+    interface Operacao extends IntToLongFunction {
+        long executar(int i);
+
+        @Override
+        default long applyAsLong(int i) {
+            return executar(i);
+        }
+    }
+
+    record Resultado(String nome, int pares, double media, double desvio) {}
+
+    private static final int[] PARES_PADRAO = {20, 1_000, 10_000, 100_000};
+    private static final int[][] TAMANHOS_TELA = {{640, 480}, {1280, 800}, {1920, 1080}};
+    private static final int AMOSTRAS = 1 << 12;   // índices aleatórios pré-sorteados
+
+    private static volatile long sumidouro;
+
+    private final int aquecimento;
+    private final int medicoes;
+    private final long nanosPorIteracao;
+
+    BenchmarkPilhas(int aquecimento, int medicoes, long nanosPorIteracao) {
+        this.aquecimento = aquecimento;
+        this.medicoes = medicoes;
+        this.nanosPorIteracao = nanosPorIteracao;
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        String filtro = "";
+        int[] pares = PARES_PADRAO;
+        Path csv = null;
+        boolean rapido = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--pares" -> pares = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--csv" -> csv = Path.of(args[++i]);
+                case "--rapido" -> rapido = true;
+                default -> filtro = args[i];
+            }
+        }
+
+        BenchmarkPilhas bench = rapido ? new BenchmarkPilhas(1, 3, 50_000_000) : new BenchmarkPilhas(3, 5, 200_000_000);
+        List<Resultado> resultados = new ArrayList<>();
+        for (int n : pares) {
+            CatalogoEspecies catalogo = catalogoSintetico(n, 42);
+            resultados.addAll(bench.medirCatalogo(catalogo, n, filtro));
+        }
+        resultados.addAll(bench.medirRender(filtro));
+
+        if (csv != null) {
+            StringBuilder sb = new StringBuilder();
+            if (!Files.exists(csv)) sb.append("data;benchmark;pares;ns_op;desvio\n");
+            String agora = Instant.now().toString();
+            for (Resultado r : resultados) {
+                sb.append(String.format(Locale.ROOT, "%s;%s;%d;%.2f;%.2f%n", agora, r.nome(), r.pares(), r.media(), r.desvio()));
+            }
+            Files.writeString(csv, sb, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    // --- CATÁLOGO SINTÉTICO ---
+
+    // 'pares' pares metal/íon com símbolos só de letras ("Qa", "Qb", ..., "Qba"), cargas 1 a 3
+    // e potenciais espalhados entre -3 e +1.5 V; mesma semente = mesmo catálogo
+    static CatalogoEspecies catalogoSintetico(int pares, long semente) {
+        Random aleatorio = new Random(semente);
+        Map<Integer, informacoesEspecies> tabela = new HashMap<>(pares * 4);
+        for (int k = 0; k < pares; k++) {
+            String simbolo = "Q" + letras(k);
+            int carga = 1 + k % 3;
+            String metal = simbolo + "(s)";
+            String ion = simbolo + (carga == 1 ? "" : "^" + carga) + "+(aq)"; // símbolo de várias letras: carga separada
+            double potencial = Math.round((-3 + 4.5 * aleatorio.nextDouble()) * 100) / 100.0;
+            tabela.put(2 * k + 1, new informacoesEspecies(metal, "reduzida", ion, potencial));
+            tabela.put(2 * k + 2, new informacoesEspecies(ion, "oxidada", metal, potencial));
+        }
+        return new CatalogoEspecies(tabela);
+    }
+
+    private static String letras(int k) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + k % 26));
+            k /= 26;
+        } while (k > 0);
+        return sb.reverse().toString();
+    }
+
+    // --- MEDIDAS ---
+
+    private List<Resultado> medirCatalogo(CatalogoEspecies catalogo, int pares, String filtro) {
+        List<Resultado> resultados = new ArrayList<>();
+        for (Map.Entry<String, Operacao> e : operacoesCatalogo(catalogo).entrySet()) {
+            medir(resultados, filtro, e.getKey(), pares, e.getValue());
+        }
+        return resultados;
+    }
+
+    private List<Resultado> medirRender(String filtro) {
+        List<Resultado> resultados = new ArrayList<>();
+        for (int[] tamanho : TAMANHOS_TELA) {
+            for (Map.Entry<String, Operacao> e : operacoesRender(tamanho[0], tamanho[1]).entrySet()) {
+                medir(resultados, filtro, e.getKey(), 0, e.getValue());
+            }
+        }
+        return resultados;
+    }
+
+    // --- OPERAÇÕES MEDIDAS ---
+
+    // Ponte para os benchmarks JMH do perfil "jmh": eles ficam num pacote nomeado, que não enxerga as
+    // classes do pacote padrão, e pegam por reflexão a operação já montada (ex: "avaliacao.selecao", 1000
+    // ou "render.cache.1920x1080", 0)
+    static IntToLongFunction operacao(String nome, int pares) {
+        Map<String, Operacao> operacoes;
+        if (nome.startsWith("render.")) {
+            String[] tamanho = nome.substring(nome.lastIndexOf('.') + 1).split("x");
+            operacoes = operacoesRender(Integer.parseInt(tamanho[0]), Integer.parseInt(tamanho[1]));
+        } else {
+            operacoes = operacoesCatalogo(catalogoSintetico(pares, 42));
+        }
+        Operacao operacao = operacoes.get(nome);
+        if (operacao == null) throw new IllegalArgumentException("Benchmark desconhecido: " + nome);
+        return operacao;
+    }
+
+    private static Map<String, Operacao> operacoesCatalogo(CatalogoEspecies catalogo) {
+        Random aleatorio = new Random(7);
+        int n = catalogo.tamanho();
+        String[] formas = new String[AMOSTRAS];
+        int[] idsA = new int[AMOSTRAS];
+        int[] idsB = new int[AMOSTRAS];
+        for (int i = 0; i < AMOSTRAS; i++) {
+            formas[i] = catalogo.getForma(aleatorio.nextInt(n));
+            idsA[i] = catalogo.getId(aleatorio.nextInt(n));
+            idsB[i] = catalogo.getId(aleatorio.nextInt(n));
+        }
+        // Pares já validados, para medir só a montagem da pilha
+        List<informacoesEspecies[]> validos = new ArrayList<>();
+        while (validos.size() < AMOSTRAS) {
+            informacoesEspecies a = catalogo.get(aleatorio.nextInt(n));
+            informacoesEspecies b = catalogo.get(aleatorio.nextInt(n));
+            if (ErroSelecao.validar(a, b) == null) validos.add(new informacoesEspecies[]{a, b});
+        }
+        informacoesEspecies[][] selecoes = validos.toArray(new informacoesEspecies[0][]);
+        int mascara = AMOSTRAS - 1;
+
+        Map<String, Operacao> operacoes = new LinkedHashMap<>();
+        operacoes.put("resolucao.idPorForma", i -> catalogo.idPorForma(formas[i & mascara]));
+        operacoes.put("resolucao.validar", i -> {
+            ErroSelecao erro = ErroSelecao.validar(catalogo.porId(idsA[i & mascara]), catalogo.porId(idsB[i & mascara]));
+            return erro == null ? -1 : erro.ordinal();
+        });
+        operacoes.put("avaliacao.selecao", i -> {
+            informacoesEspecies[] s = selecoes[i & mascara];
+            return Double.doubleToRawLongBits(AvaliadorPilhas.avaliarSelecao(catalogo, s[0], s[1]).ddp());
+        });
+        operacoes.put("simbolo.ler", i -> FormulaQuimica.ler(formas[i & mascara]).carga());
+        return operacoes;
+    }
+
+    private static Map<String, Operacao> operacoesRender(int w, int h) {
+        CatalogoEspecies catalogo = EspeciesPadrao.CATALOGO;
+        informacoesEspecies catodo = catalogo.porForma("Cu(s)");
+        informacoesEspecies anodo = catalogo.porForma("Zn(s)");
+        BufferedImage destino = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB); // opaco, como o buffer da tela
+        String sufixo = "." + w + "x" + h;
+
+        Map<String, Operacao> operacoes = new LinkedHashMap<>();
+        // Quadro comum: cena já em cache, só lâmpada e sobreposições
+        SimuladorSwing.PainelPilha painel = novoPainel(w, h, catodo, anodo);
+        operacoes.put("render.cache" + sufixo, i -> pintar(painel, destino));
+
+        // Primeiro quadro de um par: monta camada fixa e cena do zero
+        operacoes.put("render.frio" + sufixo, i -> pintar(novoPainel(w, h, catodo, anodo), destino));
+        return operacoes;
+    }
+
+    private static SimuladorSwing.PainelPilha novoPainel(int w, int h, informacoesEspecies catodo, informacoesEspecies anodo) {
+        SimuladorSwing.PainelPilha painel = new SimuladorSwing.PainelPilha();
+        painel.setSize(w, h);
+        painel.setDadosPilha(catodo, anodo);
+        return painel;
+    }
+
+    private static long pintar(SimuladorSwing.PainelPilha painel, BufferedImage destino) {
+        Graphics2D g2 = destino.createGraphics();
+        painel.paint(g2);
+        g2.dispose();
+        return destino.getRGB(destino.getWidth() / 2, destino.getHeight() / 2);
+    }
+
+    private void medir(List<Resultado> resultados, String filtro, String nome, int pares, Operacao operacao) {
+        if (!nome.contains(filtro)) return;
+
+        // Lote calibrado para cada verificação do relógio levar ~1 ms
+        int lote = 1;
+        while (true) {
+            long inicio = System.nanoTime();
+            executarLote(operacao, 0, lote);
+            if (System.nanoTime() - inicio >= 1_000_000 || lote >= 1 << 24) break;
+            lote <<= 1;
+        }
+
+        double[] nsPorOp = new double[medicoes];
+        for (int iteracao = 0; iteracao < aquecimento + medicoes; iteracao++) {
+            long ops = 0;
+            long inicio = System.nanoTime();
+            long decorrido;
+            do {
+                executarLote(operacao, (int) ops, lote);
+                ops += lote;
+                decorrido = System.nanoTime() - inicio;
+            } while (decorrido < nanosPorIteracao);
+            if (iteracao >= aquecimento) nsPorOp[iteracao - aquecimento] = decorrido / (double) ops;
+        }
+
+        double media = 0;
+        for (double v : nsPorOp) media += v;
+        media /= medicoes;
+        double variancia = 0;
+        for (double v : nsPorOp) variancia += (v - media) * (v - media);
+        double desvio = medicoes > 1 ? Math.sqrt(variancia / (medicoes - 1)) : 0;
+
+        Resultado resultado = new Resultado(nome, pares, media, desvio);
+        resultados.add(resultado);
+        System.out.println(String.format(Locale.ROOT, "%-28s %8s %14.1f +- %8.1f ns/op",
+                nome, pares > 0 ? String.valueOf(pares) : "-", media, desvio));
+    }
+
+    private static void executarLote(Operacao operacao, int inicio, int lote) {
+        long acumulado = 0;
+        for (int i = 0; i < lote; i++) acumulado += operacao.executar(inicio + i);
+        sumidouro += acumulado;
+    }
+}
@@ -0,0 +1,340 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// --- CARREGADOR DE ESPÉCIES (CSV / JSON) ---
+// Lê tabelas de potenciais-padrão de redução do disco, um par redox por vez.
+// Cada par válido vira duas espécies (reduzida e oxidada), com IDs seguidos como na tabela embutida.
+// Uma forma pode aparecer em mais de um par, como nas tabelas encadeadas (Fe3+/Fe2+ e Fe2+/Fe).
+//
+// CSV (separador ',' ou ';', linhas com '#' são comentários, cabeçalho opcional):
+//     oxidada;reduzida;potencial[;eletrons]       (eletrons: se vier, tem de bater com a semirreação balanceada)
+//     Cu2+(aq);Cu(s);0,34
+//     MnO4-(aq);Mn2+(aq);1.51;5
+//
+// JSON (lista de objetos, solta ou dentro de qualquer chave):
+//     [{"oxidada": "Cu2+(aq)", "reduzida": "Cu(s)", "potencial": 0.34, "eletrons": 2}, ...]
+final class CarregadorEspecies {
+
+    // Revisão das regras de leitura (fórmulas, símbolo, elétrons do par). Sobe sempre que o mesmo arquivo
+    // passar a gerar um catálogo diferente: vai no cabeçalho do snapshot e invalida os gravados antes
+    static final int REVISAO = 2;
+
+    // Acima disso o arquivo é mapeado em memória em vez de lido por um BufferedReader
+    static final long LIMITE_MAPEAMENTO = 1L << 20;
+
+    // Quem recebe as espécies à medida que são lidas (na thread do carregador)
+    interface Receptor {
+        void receber(int id, informacoesEspecies especie);
+
+        // Par rejeitado; a leitura continua com o próximo
+        default void rejeitar(int posicao, String motivo) {}
+    }
+
+    private final Receptor receptor;
+    private final Set<String> paresVistos = new HashSet<>();   // "oxidada\nreduzida"
+    private int proximoId = 1;
+    private int pares = 0;
+
+    private CarregadorEspecies(Receptor receptor) {
+        this.receptor = receptor;
+    }
+
+    // Lê o arquivo inteiro e devolve quantos pares foram aceitos
+    static int ler(Path arquivo, Receptor receptor) throws IOException {
+        CarregadorEspecies carregador = new CarregadorEspecies(receptor);
+        String nome = arquivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".json")) {
+            carregador.lerJson(arquivo);
+        } else {
+            carregador.lerCsv(arquivo);
+        }
+        return carregador.pares;
+    }
+
+    // Atalho para quem só quer o catálogo pronto (sem acompanhar a leitura)
+    static CatalogoEspecies lerCatalogo(Path arquivo) throws IOException {
+        Map<Integer, informacoesEspecies> tabela = new HashMap<>();
+        ler(arquivo, tabela::put);
+        return new CatalogoEspecies(tabela);
+    }
+
+    // --- VALIDAÇÃO DE UM PAR ---
+
+    private void adicionarPar(int posicao, String oxidada, String reduzida, String potencialTexto, String eletronsTexto) {
+        if (oxidada == null || reduzida == null || potencialTexto == null) {
+            receptor.rejeitar(posicao, "faltam campos (oxidada, reduzida, potencial)");
+            return;
+        }
+        oxidada = oxidada.strip();
+        reduzida = reduzida.strip();
+        if (oxidada.equals(reduzida)) {
+            receptor.rejeitar(posicao, "as duas formas são iguais: " + oxidada);
+            return;
+        }
+
+        double potencial;
+        try {
+            potencial = Double.parseDouble(potencialTexto.strip().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            receptor.rejeitar(posicao, "potencial inválido: " + potencialTexto);
+            return;
+        }
+        if (!Double.isFinite(potencial) || Math.abs(potencial) > 10) {
+            receptor.rejeitar(posicao, "potencial fora da faixa: " + potencialTexto);
+            return;
+        }
+
+        FormulaQuimica formulaOxidada;
+        FormulaQuimica formulaReduzida;
+        try {
+            formulaOxidada = FormulaQuimica.ler(oxidada);
+            formulaReduzida = FormulaQuimica.ler(reduzida);
+        } catch (IllegalArgumentException e) {
+            receptor.rejeitar(posicao, e.getMessage());
+            return;
+        }
+
+        // Sem coluna de elétrons, vale o n da semirreação balanceada (Cl2/Cl- troca 2, MnO4-/Mn2+ troca 5);
+        // com a coluna, ela tem de bater com esse n, senão a tabela, a equação e o Nernst discordariam.
+        // Par que não se balanceia (fórmula ilegível): a coluna, ou a diferença de carga.
+        BalanceadorEquacoes.Semirreacao semirreacao = BalanceadorEquacoes.semirreacao(formulaOxidada, formulaReduzida);
+        int eletrons;
+        if (eletronsTexto == null || eletronsTexto.isBlank()) {
+            eletrons = semirreacao != null ? semirreacao.eletrons() : formulaOxidada.carga() - formulaReduzida.carga();
+        } else {
+            try {
+                eletrons = Integer.parseInt(eletronsTexto.strip());
+            } catch (NumberFormatException e) {
+                receptor.rejeitar(posicao, "número de elétrons inválido: " + eletronsTexto);
+                return;
+            }
+            if (semirreacao != null && semirreacao.eletrons() != eletrons) {
+                receptor.rejeitar(posicao, "número de elétrons " + eletrons + " não bate com a semirreação balanceada ("
+                        + semirreacao.eletrons() + "): " + oxidada + " / " + reduzida);
+                return;
+            }
+        }
+        if (eletrons <= 0) {
+            receptor.rejeitar(posicao, "número de elétrons deve ser positivo (" + oxidada + " / " + reduzida + ")");
+            return;
+        }
+        if (eletrons > Byte.MAX_VALUE) {
+            // O CatalogoEspecies guarda os elétrons num byte: um par assim derrubaria o catálogo inteiro
+            receptor.rejeitar(posicao, "número de elétrons fora da faixa: " + eletrons + " (" + oxidada + " / " + reduzida + ")");
+            return;
+        }
+
+        // Uma forma pode estar em vários pares (Fe3+/Fe2+ e Fe2+/Fe); repetido é só o mesmo par, em qualquer ordem
+        if (paresVistos.contains(reduzida + "\n" + oxidada) || !paresVistos.add(oxidada + "\n" + reduzida)) {
+            receptor.rejeitar(posicao, "par repetido: " + oxidada + " / " + reduzida);
+            return;
+        }
+
+        receptor.receber(proximoId++, new informacoesEspecies(reduzida, "reduzida", oxidada, potencial, eletrons, formulaReduzida, formulaOxidada));
+        receptor.receber(proximoId++, new informacoesEspecies(oxidada, "oxidada", reduzida, potencial, eletrons, formulaOxidada, formulaReduzida));
+        pares++;
+    }
+
+    // --- CSV ---
+
+    private void lerCsv(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho > LIMITE_MAPEAMENTO && tamanho <= Integer.MAX_VALUE) {
+                lerCsvMapeado(canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho));
+                return;
+            }
+        }
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                lerLinhaCsv(++numero, linha);
+            }
+        }
+    }
+
+    // O byte '\n' nunca aparece no meio de um caractere UTF-8, então dá para cortar as linhas direto nos bytes
+    private void lerCsvMapeado(MappedByteBuffer dados) {
+        byte[] linha = new byte[256];
+        int numero = 0;
+        int tamanhoLinha = 0;
+        int fim = dados.limit();
+        for (int i = 0; i <= fim; i++) {
+            byte b = i < fim ? dados.get(i) : (byte) '\n';
+            if (b == '\n') {
+                if (i < fim || tamanhoLinha > 0) {
+                    lerLinhaCsv(++numero, new String(linha, 0, tamanhoLinha, StandardCharsets.UTF_8));
+                }
+                tamanhoLinha = 0;
+            } else {
+                if (tamanhoLinha == linha.length) linha = Arrays.copyOf(linha, linha.length * 2);
+                linha[tamanhoLinha++] = b;
+            }
+        }
+    }
+
+    private void lerLinhaCsv(int numero, String linha) {
+        linha = linha.strip();
+        if (numero == 1 && !linha.isEmpty() && linha.charAt(0) == '\uFEFF') linha = linha.substring(1);
+        if (linha.isEmpty() || linha.startsWith("#")) return;
+
+        // Com ';' o decimal pode vir com vírgula (planilhas em português)
+        String[] campos = linha.split(linha.indexOf(';') >= 0 ? ";" : ",", -1);
+        if (numero == 1 && campos.length >= 3 && !pareceNumero(campos[2])) return; // cabeçalho
+
+        adicionarPar(numero,
+                campos.length > 0 ? campos[0] : null,
+                campos.length > 1 ? campos[1] : null,
+                campos.length > 2 ? campos[2] : null,
+                campos.length > 3 ? campos[3] : null);
+    }
+
+    private static boolean pareceNumero(String texto) {
+        try {
+            Double.parseDouble(texto.strip().replace(',', '.'));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // --- JSON ---
+    // Leitor mínimo: procura a primeira lista e lê os objetos dela um a um (valores texto ou número).
+
+    private void lerJson(Path arquivo) throws IOException {
+        ByteBuffer dados;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho > Integer.MAX_VALUE) throw new IOException("Arquivo grande demais: " + arquivo);
+            dados = tamanho > LIMITE_MAPEAMENTO
+                    ? canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho)
+                    : ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        }
+        new LeitorJson(dados).lerLista();
+    }
+
+    private final class LeitorJson {
+        private final ByteBuffer dados;
+        private int pos;
+
+        LeitorJson(ByteBuffer dados) {
+            this.dados = dados;
+            this.pos = dados.position();
+        }
+
+        void lerLista() throws IOException {
+            while (pos < dados.limit() && dados.get(pos) != '[') pos++;
+            if (pos >= dados.limit()) throw new IOException("JSON sem lista de espécies");
+            pos++;
+
+            int item = 0;
+            pularEspacos();
+            if (espiar() == ']') return;
+            while (true) {
+                item++;
+                Map<String, String> objeto = lerObjeto();
+                adicionarPar(item, objeto.get("oxidada"), objeto.get("reduzida"), objeto.get("potencial"), objeto.get("eletrons"));
+                pularEspacos();
+                byte b = proximo();
+                if (b == ']') return;
+                if (b != ',') throw erro("esperava ',' ou ']'");
+                pularEspacos();
+            }
+        }
+
+        private Map<String, String> lerObjeto() throws IOException {
+            Map<String, String> campos = new HashMap<>(8);
+            if (proximo() != '{') throw erro("esperava '{'");
+            pularEspacos();
+            if (espiar() == '}') {
+                pos++;
+                return campos;
+            }
+            while (true) {
+                pularEspacos();
+                String chave = lerTexto();
+                pularEspacos();
+                if (proximo() != ':') throw erro("esperava ':'");
+                pularEspacos();
+                campos.put(chave, espiar() == '"' ? lerTexto() : lerLiteral());
+                pularEspacos();
+                byte b = proximo();
+                if (b == '}') return campos;
+                if (b != ',') throw erro("esperava ',' ou '}'");
+            }
+        }
+
+        private String lerTexto() throws IOException {
+            if (proximo() != '"') throw erro("esperava '\"'");
+            int inicio = pos;
+            boolean escape = false;
+            while (pos < dados.limit()) {
+                byte b = dados.get(pos);
+                if (b == '\\') {
+                    escape = true;
+                    pos += 2;
+                    continue;
+                }
+                if (b == '"') break;
+                pos++;
+            }
+            if (pos >= dados.limit()) throw erro("texto sem fim");
+            String texto = new String(bytesEntre(inicio, pos), StandardCharsets.UTF_8);
+            pos++;
+            return escape ? texto.replace("\\\"", "\"").replace("\\\\", "\\").replace("\\/", "/") : texto;
+        }
+
+        // Números, true/false/null: tudo até o próximo separador
+        private String lerLiteral() throws IOException {
+            int inicio = pos;
+            while (pos < dados.limit()) {
+                byte b = dados.get(pos);
+                if (b == ',' || b == '}' || b == ']' || b <= ' ') break;
+                if (b == '{' || b == '[') throw erro("objetos aninhados não são suportados");
+                pos++;
+            }
+            if (pos == inicio) throw erro("valor vazio");
+            String literal = new String(bytesEntre(inicio, pos), StandardCharsets.US_ASCII);
+            return literal.equals("null") ? null : literal;
+        }
+
+        private byte[] bytesEntre(int inicio, int fim) {
+            byte[] bytes = new byte[fim - inicio];
+            dados.get(inicio, bytes);
+            return bytes;
+        }
+
+        private void pularEspacos() {
+            while (pos < dados.limit() && dados.get(pos) <= ' ' && dados.get(pos) >= 0) pos++;
+        }
+
+        private byte espiar() throws IOException {
+            if (pos >= dados.limit()) throw erro("fim inesperado do arquivo");
+            return dados.get(pos);
+        }
+
+        private byte proximo() throws IOException {
+            byte b = espiar();
+            pos++;
+            return b;
+        }
+
+        private IOException erro(String mensagem) {
+            return new IOException("JSON inválido na posição " + pos + ": " + mensagem);
+        }
+    }
+}
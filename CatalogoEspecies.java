@@ -0,0 +1,342 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// --- CATÁLOGO DE ESPÉCIES ---
+// Montado uma única vez a partir da tabela (ID -> espécie) ou de um snapshot binário, e nunca mais alterado.
+// Os dados ficam em colunas (textos internados + vetores primitivos); o objeto informacoesEspecies
+// de cada posição só é criado quando alguém pede por ele.
+// Todas as buscas (por ID, forma, forma oposta e símbolo) são feitas por índice, sem percorrer a tabela.
+// Cada posição é uma metade de um par; uma mesma forma pode estar em mais de um par, como nas tabelas
+// de potenciais encadeadas (Fe3+/Fe2+ e Fe2+/Fe, Cu2+/Cu+ e Cu+/Cu): quem a identifica é a dupla
+// (forma, formaOposta).
+final class CatalogoEspecies {
+
+    static final byte REDUZIDA = 0;
+    static final byte OXIDADA = 1;
+
+    // --- COLUNAS (posição 0..tamanho-1, em ordem crescente de ID) ---
+    final int[] ids;
+    final String[] textos;          // cada forma/símbolo aparece uma vez só
+    final int[] forma;              // índices em textos
+    final int[] formaOposta;
+    final int[] simbolo;
+    final byte[] tipo;
+    final byte[] eletrons;
+    final double[] potencial;
+    final int[] ordemPorPotencial;  // posições, do menor para o maior potencial
+
+    // Tabelas hash abertas (posição + 1; 0 = vazio), sem um objeto por entrada
+    private final int[] hashForma;
+    private final int[] hashFormaOposta;
+    private final boolean idsSeguidos;
+
+    private final informacoesEspecies[] especies;   // criados sob demanda
+    private volatile Map<String, List<informacoesEspecies>> porSimbolo;
+    private volatile BalanceadorEquacoes equacoes;
+    private final List<informacoesEspecies> ordenadasPorPotencial;
+
+    public CatalogoEspecies(Map<Integer, informacoesEspecies> tabela) {
+        int n = tabela.size();
+        ids = new int[n];
+        int k = 0;
+        for (int id : tabela.keySet()) ids[k++] = id;
+        Arrays.sort(ids);
+
+        forma = new int[n];
+        formaOposta = new int[n];
+        simbolo = new int[n];
+        tipo = new byte[n];
+        eletrons = new byte[n];
+        potencial = new double[n];
+        especies = new informacoesEspecies[n];
+
+        Map<String, Integer> internados = new HashMap<>(n * 2);
+        List<String> lista = new ArrayList<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            informacoesEspecies especie = tabela.get(ids[i]);
+            especies[i] = especie;
+            forma[i] = internar(especie.forma(), internados, lista);
+            formaOposta[i] = internar(especie.formaOposta(), internados, lista);
+            simbolo[i] = internar(especie.getSimbolo(), internados, lista);
+            tipo[i] = especie.tipo().equals("reduzida") ? REDUZIDA : OXIDADA;
+            if (especie.eletrons() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Elétrons demais no par " + especie.forma() + ": " + especie.eletrons());
+            }
+            eletrons[i] = (byte) especie.eletrons();
+            potencial[i] = especie.potencial();
+        }
+        textos = lista.toArray(new String[0]);
+        ordemPorPotencial = ordenarPorPotencial(potencial);
+
+        idsSeguidos = verificarIdsSeguidos(ids);
+        hashForma = montarHash(forma, true);
+        hashFormaOposta = montarHash(formaOposta, false);
+        ordenadasPorPotencial = new VisaoOrdenada();
+    }
+
+    // Usado pelo snapshot binário: as colunas já vêm prontas (e não são copiadas)
+    CatalogoEspecies(int[] ids, String[] textos, int[] forma, int[] formaOposta, int[] simbolo,
+                     byte[] tipo, byte[] eletrons, double[] potencial, int[] ordemPorPotencial) {
+        int n = ids.length;
+        if (forma.length != n || formaOposta.length != n || simbolo.length != n || tipo.length != n
+                || eletrons.length != n || potencial.length != n || ordemPorPotencial.length != n) {
+            throw new IllegalArgumentException("Colunas do catálogo com tamanhos diferentes");
+        }
+        this.ids = ids;
+        this.textos = textos;
+        this.forma = forma;
+        this.formaOposta = formaOposta;
+        this.simbolo = simbolo;
+        this.tipo = tipo;
+        this.eletrons = eletrons;
+        this.potencial = potencial;
+        this.ordemPorPotencial = ordemPorPotencial;
+        this.especies = new informacoesEspecies[n];
+
+        idsSeguidos = verificarIdsSeguidos(ids);
+        hashForma = montarHash(forma, true);
+        hashFormaOposta = montarHash(formaOposta, false);
+        ordenadasPorPotencial = new VisaoOrdenada();
+    }
+
+    private static int internar(String texto, Map<String, Integer> internados, List<String> lista) {
+        Integer indice = internados.get(texto);
+        if (indice == null) {
+            indice = lista.size();
+            internados.put(texto, indice);
+            lista.add(texto);
+        }
+        return indice;
+    }
+
+    // Ordenação estável das posições pelo potencial, sem criar um Integer por elemento
+    static int[] ordenarPorPotencial(double[] potencial) {
+        int n = potencial.length;
+        double[] ordenados = potencial.clone();
+        Arrays.sort(ordenados);
+        int[] ordem = new int[n];
+        int[] ocupados = new int[n];    // lugares já usados a partir do primeiro de cada valor
+        for (int i = 0; i < n; i++) {
+            int primeiro = primeiroMaiorOuIgual(ordenados, potencial[i]);
+            ordem[primeiro + ocupados[primeiro]++] = i;
+        }
+        return ordem;
+    }
+
+    // Busca binária: primeiro índice com valor >= alvo
+    static int primeiroMaiorOuIgual(double[] ordenados, double alvo) {
+        int baixo = 0;
+        int alto = ordenados.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ordenados[meio] < alvo) baixo = meio + 1;
+            else alto = meio;
+        }
+        return baixo;
+    }
+
+    private static boolean verificarIdsSeguidos(int[] ids) {
+        return ids.length == 0 || ids[ids.length - 1] - ids[0] == ids.length - 1;
+    }
+
+    // todas = true: cada posição entra, e as de mesma forma ficam na sondagem em ordem de posição (só a
+    // mesma metade do mesmo par duas vezes é erro); false: fica só a primeira posição, como no putIfAbsent
+    private int[] montarHash(int[] coluna, boolean todas) {
+        int capacidade = Integer.highestOneBit(Math.max(4, coluna.length * 2 - 1)) << 1;
+        int[] tabela = new int[capacidade];
+        for (int i = 0; i < coluna.length; i++) {
+            String texto = textos[coluna[i]];
+            int slot = texto.hashCode() & (capacidade - 1);
+            while (tabela[slot] != 0) {
+                int outra = tabela[slot] - 1;
+                if (textos[coluna[outra]].equals(texto)) {
+                    if (!todas) break;
+                    if (formaOposta[outra] == formaOposta[i]) {
+                        throw new IllegalArgumentException("Espécie repetida na tabela: " + texto + " / " + textos[formaOposta[i]]);
+                    }
+                }
+                slot = (slot + 1) & (capacidade - 1);
+            }
+            if (tabela[slot] == 0) tabela[slot] = i + 1;
+        }
+        return tabela;
+    }
+
+    private int buscarHash(int[] tabela, int[] coluna, String texto) {
+        int mascara = tabela.length - 1;
+        int slot = texto.hashCode() & mascara;
+        while (tabela[slot] != 0) {
+            int posicao = tabela[slot] - 1;
+            if (textos[coluna[posicao]].equals(texto)) return posicao;
+            slot = (slot + 1) & mascara;
+        }
+        return -1;
+    }
+
+    public int tamanho() {
+        return ids.length;
+    }
+
+    // Acesso por posição (0..tamanho-1), na ordem crescente de ID
+    public int getId(int posicao) {
+        return ids[posicao];
+    }
+
+    public informacoesEspecies get(int posicao) {
+        informacoesEspecies especie = especies[posicao];
+        if (especie == null) {
+            especie = new informacoesEspecies(textos[forma[posicao]], tipo[posicao] == REDUZIDA ? "reduzida" : "oxidada",
+                    textos[formaOposta[posicao]], potencial[posicao], eletrons[posicao]);
+            especies[posicao] = especie;
+        }
+        return especie;
+    }
+
+    // Leitura direta das colunas, sem criar o objeto da espécie
+    public String getForma(int posicao) {
+        return textos[forma[posicao]];
+    }
+
+    public double getPotencial(int posicao) {
+        return potencial[posicao];
+    }
+
+    public boolean isReduzida(int posicao) {
+        return tipo[posicao] == REDUZIDA;
+    }
+
+    // --- BUSCAS ---
+
+    // Posição do ID (0..tamanho-1), ou -1 se não existir
+    public int posicaoDoId(int id) {
+        if (idsSeguidos) {
+            int posicao = ids.length == 0 ? -1 : id - ids[0];
+            return posicao >= 0 && posicao < ids.length ? posicao : -1;
+        }
+        int posicao = Arrays.binarySearch(ids, id);
+        return posicao >= 0 ? posicao : -1;
+    }
+
+    // Posição da espécie com essa forma, ou -1. Forma em mais de um par: a de menor ID (ver posicoesDaForma)
+    public int posicaoDaForma(String forma) {
+        return buscarHash(hashForma, this.forma, forma);
+    }
+
+    // Todas as posições com essa forma, em ordem crescente (uma por par em que ela aparece)
+    public int[] posicoesDaForma(String forma) {
+        int mascara = hashForma.length - 1;
+        int slot = forma.hashCode() & mascara;
+        int[] achadas = new int[2];
+        int quantidade = 0;
+        while (hashForma[slot] != 0) {
+            int posicao = hashForma[slot] - 1;
+            if (textos[this.forma[posicao]].equals(forma)) {
+                if (quantidade == achadas.length) achadas = Arrays.copyOf(achadas, quantidade * 2);
+                achadas[quantidade++] = posicao;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return Arrays.copyOf(achadas, quantidade);
+    }
+
+    // Posição exata de uma metade de par (forma e forma oposta), ou -1
+    public int posicaoDaEspecie(String forma, String formaOposta) {
+        int mascara = hashForma.length - 1;
+        int slot = forma.hashCode() & mascara;
+        while (hashForma[slot] != 0) {
+            int posicao = hashForma[slot] - 1;
+            if (textos[this.forma[posicao]].equals(forma) && textos[this.formaOposta[posicao]].equals(formaOposta)) return posicao;
+            slot = (slot + 1) & mascara;
+        }
+        return -1;
+    }
+
+    public int posicaoDaEspecie(informacoesEspecies especie) {
+        return posicaoDaEspecie(especie.forma(), especie.formaOposta());
+    }
+
+    public informacoesEspecies porId(int id) {
+        int posicao = posicaoDoId(id);
+        return posicao < 0 ? null : get(posicao);
+    }
+
+    public informacoesEspecies porForma(String forma) {
+        int posicao = posicaoDaForma(forma);
+        return posicao < 0 ? null : get(posicao);
+    }
+
+    // Devolve o ID da espécie com essa forma, ou -1 se não existir.
+    // Forma em mais de um par (Fe2+ em Fe3+/Fe2+ e Fe2+/Fe): o menor ID; idsPorForma dá todos
+    public int idPorForma(String forma) {
+        int posicao = posicaoDaForma(forma);
+        return posicao < 0 ? -1 : ids[posicao];
+    }
+
+    public int[] idsPorForma(String forma) {
+        int[] posicoes = posicoesDaForma(forma);
+        for (int k = 0; k < posicoes.length; k++) posicoes[k] = ids[posicoes[k]];
+        return posicoes;
+    }
+
+    // Espécie cuja formaOposta é a forma pedida (ex: "Zn(s)" -> Zn2+(aq)); com vários pares, a de menor posição
+    public informacoesEspecies porFormaOposta(String formaOposta) {
+        int posicao = buscarHash(hashFormaOposta, this.formaOposta, formaOposta);
+        return posicao < 0 ? null : get(posicao);
+    }
+
+    // A outra metade do mesmo par redox (ex: Zn2+(aq) <-> Zn(s)); Fe2+ do par Fe3+/Fe2+ dá Fe3+, não Fe(s)
+    public informacoesEspecies oposta(informacoesEspecies especie) {
+        int posicao = posicaoDaEspecie(especie.formaOposta(), especie.forma());
+        return posicao < 0 ? null : get(posicao);
+    }
+
+    // Todas as espécies de um elemento (ex: "Zn" -> Zn(s) e Zn2+(aq))
+    public List<informacoesEspecies> porSimbolo(String simbolo) {
+        Map<String, List<informacoesEspecies>> indice = porSimbolo;
+        if (indice == null) {
+            // Pouco usado: o índice só é montado na primeira consulta
+            Map<String, List<informacoesEspecies>> montado = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                montado.computeIfAbsent(textos[this.simbolo[i]], s -> new ArrayList<>(2)).add(get(i));
+            }
+            montado.replaceAll((s, lista) -> List.copyOf(lista));
+            porSimbolo = indice = montado;
+        }
+        return indice.getOrDefault(simbolo, List.of());
+    }
+
+    // Equações balanceadas deste catálogo, guardadas por par ânodo/cátodo (criado na primeira pilha)
+    public BalanceadorEquacoes equacoes() {
+        BalanceadorEquacoes balanceador = equacoes;
+        if (balanceador == null) {
+            synchronized (this) {
+                balanceador = equacoes;
+                if (balanceador == null) {
+                    equacoes = balanceador = new BalanceadorEquacoes(this, BalanceadorEquacoes.CAPACIDADE_PADRAO);
+                }
+            }
+        }
+        return balanceador;
+    }
+
+    // Visão somente leitura, do menor para o maior potencial de redução
+    public List<informacoesEspecies> ordenadasPorPotencial() {
+        return ordenadasPorPotencial;
+    }
+
+    private final class VisaoOrdenada extends AbstractList<informacoesEspecies> {
+        @Override
+        public informacoesEspecies get(int indice) {
+            return CatalogoEspecies.this.get(ordemPorPotencial[indice]);
+        }
+
+        @Override
+        public int size() {
+            return ordemPorPotencial.length;
+        }
+    }
+}
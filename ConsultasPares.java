@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// --- CONSULTAS DE MELHORES PARES ---
+// Os pares redox (formas reduzidas) ficam num double[] ordenado pelo potencial. Numa pilha o ânodo é
+// sempre o de menor potencial, então o par (i, j) com i < j tem ddp = potencial[j] - potencial[i], e:
+//   - a maior ddp é (0, n-1); as seguintes saem de uma fronteira em heap, sem listar os n² pares;
+//   - para uma faixa [a, b], os cátodos de cada ânodo formam um trecho contíguo do vetor, achado com
+//     dois ponteiros que só andam para frente (O(n) para contar tudo);
+//   - o melhor cátodo de um ânodo é o último do vetor; o mais próximo de uma ddp alvo sai por busca binária.
+final class ConsultasPares {
+
+    // Um par encontrado (posições no catálogo)
+    record Par(int anodo, int catodo, double ddp) {}
+
+    // A ddp é diferença de doubles (0.34 - (-0.13) = 0.47000000000000003): as bordas da faixa ganham essa folga
+    static final double TOLERANCIA = 1e-9;
+
+    private final CatalogoEspecies catalogo;
+    private final int[] posicoes;       // posição no catálogo, em ordem crescente de potencial
+    private final double[] potenciais;  // ordenado
+    private final int[] indiceNaOrdem;  // posição no catálogo -> índice em potenciais (-1 se oxidada)
+
+    ConsultasPares(CatalogoEspecies catalogo) {
+        this.catalogo = catalogo;
+        int quantidade = 0;
+        for (int i = 0; i < catalogo.tamanho(); i++) if (catalogo.isReduzida(i)) quantidade++;
+        posicoes = new int[quantidade];
+        potenciais = new double[quantidade];
+        indiceNaOrdem = new int[catalogo.tamanho()];
+        Arrays.fill(indiceNaOrdem, -1);
+        int k = 0;
+        for (int posicao : catalogo.ordemPorPotencial) {
+            if (!catalogo.isReduzida(posicao)) continue;
+            posicoes[k] = posicao;
+            potenciais[k] = catalogo.getPotencial(posicao);
+            indiceNaOrdem[posicao] = k;
+            k++;
+        }
+    }
+
+    int getQuantidadePares() {
+        return posicoes.length;
+    }
+
+    // --- TOP-K ---
+
+    // Os k pares de maior ddp, do maior para o menor.
+    // Cada par (i, j) tem no máximo dois sucessores, (i, j-1) e, só quando j = n-1, (i+1, n-1):
+    // assim cada par entra na fronteira uma única vez e ela nunca passa de k + 1 elementos.
+    List<Par> maioresDdp(int k) {
+        int n = potenciais.length;
+        List<Par> resultado = new ArrayList<>(Math.max(0, Math.min(k, 1024)));
+        if (n < 2 || k <= 0) return resultado;
+
+        int capacidade = k + 2;
+        int[] heapI = new int[capacidade];
+        int[] heapJ = new int[capacidade];
+        double[] heapD = new double[capacidade];
+        int tamanho = 0;
+        tamanho = empilhar(heapI, heapJ, heapD, tamanho, 0, n - 1, potenciais[n - 1] - potenciais[0]);
+
+        while (tamanho > 0 && resultado.size() < k) {
+            int i = heapI[0];
+            int j = heapJ[0];
+            double ddp = heapD[0];
+            tamanho = desempilhar(heapI, heapJ, heapD, tamanho);
+            resultado.add(new Par(posicoes[i], posicoes[j], ddp));
+
+            if (j - 1 > i) tamanho = empilhar(heapI, heapJ, heapD, tamanho, i, j - 1, potenciais[j - 1] - potenciais[i]);
+            if (j == n - 1 && i + 1 < j) tamanho = empilhar(heapI, heapJ, heapD, tamanho, i + 1, j, potenciais[j] - potenciais[i + 1]);
+        }
+        return resultado;
+    }
+
+    private static int empilhar(int[] heapI, int[] heapJ, double[] heapD, int tamanho, int i, int j, double ddp) {
+        int filho = tamanho++;
+        while (filho > 0) {
+            int pai = (filho - 1) >>> 1;
+            if (heapD[pai] >= ddp) break;
+            heapI[filho] = heapI[pai];
+            heapJ[filho] = heapJ[pai];
+            heapD[filho] = heapD[pai];
+            filho = pai;
+        }
+        heapI[filho] = i;
+        heapJ[filho] = j;
+        heapD[filho] = ddp;
+        return tamanho;
+    }
+
+    private static int desempilhar(int[] heapI, int[] heapJ, double[] heapD, int tamanho) {
+        tamanho--;
+        int i = heapI[tamanho];
+        int j = heapJ[tamanho];
+        double ddp = heapD[tamanho];
+        int pai = 0;
+        while (true) {
+            int filho = 2 * pai + 1;
+            if (filho >= tamanho) break;
+            if (filho + 1 < tamanho && heapD[filho + 1] > heapD[filho]) filho++;
+            if (heapD[filho] <= ddp) break;
+            heapI[pai] = heapI[filho];
+            heapJ[pai] = heapJ[filho];
+            heapD[pai] = heapD[filho];
+            pai = filho;
+        }
+        heapI[pai] = i;
+        heapJ[pai] = j;
+        heapD[pai] = ddp;
+        return tamanho;
+    }
+
+    // --- FAIXA DE DDP ---
+
+    // Quantos pares têm ddp em [minimo, maximo], sem montar nenhum
+    long contarNaFaixa(double minimo, double maximo) {
+        return percorrerFaixa(minimo, maximo, null, 0);
+    }
+
+    // Até 'limite' pares com ddp em [minimo, maximo], agrupados por ânodo (do menor potencial para o maior)
+    List<Par> paresNaFaixa(double minimo, double maximo, int limite) {
+        List<Par> resultado = new ArrayList<>(Math.max(0, Math.min(limite, 1024)));
+        percorrerFaixa(minimo, maximo, resultado, limite);
+        return resultado;
+    }
+
+    private long percorrerFaixa(double minimo, double maximo, List<Par> saida, int limite) {
+        int n = potenciais.length;
+        if (minimo > maximo) return 0;
+        minimo -= TOLERANCIA;
+        maximo += TOLERANCIA;
+        long total = 0;
+        int inicio = 0;   // primeiro j com potenciais[j] >= potenciais[i] + minimo
+        int fim = 0;      // primeiro j com potenciais[j] >  potenciais[i] + maximo
+        for (int i = 0; i < n; i++) {
+            double pi = potenciais[i];
+            while (inicio < n && potenciais[inicio] - pi < minimo) inicio++;
+            while (fim < n && potenciais[fim] - pi <= maximo) fim++;
+            int de = Math.max(inicio, i + 1);
+            if (fim <= de) continue;
+            total += fim - de;
+            if (saida != null) {
+                for (int j = de; j < fim && saida.size() < limite; j++) {
+                    saida.add(new Par(posicoes[i], posicoes[j], potenciais[j] - pi));
+                }
+            }
+        }
+        return total;
+    }
+
+    // --- MELHOR CÁTODO ---
+
+    // Cátodo de maior ddp para este ânodo (espécie reduzida ou oxidada do par); null se não houver
+    Par melhorCatodo(informacoesEspecies anodo) {
+        int i = indiceDoPar(anodo);
+        int j = potenciais.length - 1;
+        if (i < 0 || j <= i) return null;
+        return new Par(posicoes[i], posicoes[j], potenciais[j] - potenciais[i]);
+    }
+
+    // Cátodo cuja ddp com este ânodo fica mais perto de ddpAlvo; null se não houver nenhum acima dele
+    Par catodoMaisProximo(informacoesEspecies anodo, double ddpAlvo) {
+        int i = indiceDoPar(anodo);
+        int n = potenciais.length;
+        if (i < 0 || i == n - 1) return null;
+        double alvo = potenciais[i] + ddpAlvo;
+        int j = Math.max(i + 1, Math.min(n - 1, CatalogoEspecies.primeiroMaiorOuIgual(potenciais, alvo)));
+        if (j - 1 > i && Math.abs(potenciais[j - 1] - alvo) <= Math.abs(potenciais[j] - alvo)) j--;
+        return new Par(posicoes[i], posicoes[j], potenciais[j] - potenciais[i]);
+    }
+
+    private int indiceDoPar(informacoesEspecies especie) {
+        if (especie == null) return -1;
+        informacoesEspecies metal = especie.tipo().equals("reduzida") ? especie : catalogo.oposta(especie);
+        if (metal == null) return -1;
+        int posicao = catalogo.posicaoDaEspecie(metal);
+        return posicao < 0 ? -1 : indiceNaOrdem[posicao];
+    }
+}
@@ -0,0 +1,307 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// --- DIÁRIO DE SESSÕES (REGISTRO BINÁRIO SÓ DE ACRÉSCIMO) ---
+// Cada sessão da janela (do primeiro clique até "Nova Simulação") vira uma sequência de registros
+// curtos acrescentados ao fim do arquivo; nada é reescrito, então um fechamento inesperado perde no
+// máximo o registro que estava sendo gravado. O ReprodutorSessoes lê o diário de volta sem Swing.
+//
+// Formato (versão 1, big-endian; "varint" = 7 bits por byte, o bit alto indica que há mais):
+//   cabeçalho do arquivo: mágico "OXIL", versão (int)
+//   registro: tipo (byte), ms desde o registro anterior da sessão (varint), dados:
+//     INICIO     instante (long, ms da época), impressão do catálogo (int), n de espécies (varint)
+//     SELECAO    ID da espécie (varint), desfecho (byte: ACEITA_PRIMEIRA, PILHA_MONTADA ou ERRO_BASE + ErroSelecao)
+//     RESULTADO  ddp (double), elétrons trocados (varint)
+//     CONDICOES  Nernst ligado (byte), [íon do ânodo], [íon do cátodo], T, E (double cada)
+//     FIM        (sem dados)
+// Os resultados gravados são os que a janela mostrou: a reprodução recalcula tudo e compara.
+final class DiarioSessoes {
+
+    static final byte INICIO = 1;
+    static final byte SELECAO = 2;
+    static final byte RESULTADO = 3;
+    static final byte CONDICOES = 4;
+    static final byte FIM = 5;
+
+    // Desfechos de um clique na tabela
+    static final byte ACEITA_PRIMEIRA = 0;
+    static final byte PILHA_MONTADA = 1;
+    static final byte ERRO_BASE = 2;
+
+    private static final int MAGICO = 0x4F58494C; // "OXIL"
+    private static final int VERSAO = 1;
+    private static final int MAIOR_REGISTRO = 64;
+
+    private DiarioSessoes() {}
+
+    static byte desfecho(ErroSelecao erro) {
+        return (byte) (ERRO_BASE + erro.ordinal());
+    }
+
+    // null para os desfechos sem erro
+    static ErroSelecao erroDoDesfecho(byte desfecho) {
+        int indice = desfecho - ERRO_BASE;
+        return indice >= 0 && indice < ErroSelecao.values().length ? ErroSelecao.values()[indice] : null;
+    }
+
+    // Identifica o catálogo da sessão (IDs, formas e potenciais): IDs só valem contra o mesmo catálogo
+    static int impressao(CatalogoEspecies catalogo) {
+        CRC32 crc = new CRC32();
+        ByteBuffer numeros = ByteBuffer.allocate(12);
+        for (int i = 0; i < catalogo.tamanho(); i++) {
+            numeros.clear();
+            numeros.putInt(catalogo.getId(i)).putDouble(catalogo.getPotencial(i));
+            crc.update(numeros.array(), 0, 12);
+            crc.update(catalogo.getForma(i).getBytes(StandardCharsets.UTF_8));
+        }
+        return (int) crc.getValue();
+    }
+
+    // --- GRAVAÇÃO ---
+    // Um registro = uma escrita no canal aberto em modo de acréscimo. Usado só na EDT.
+    static final class Gravador implements Closeable {
+        private final FileChannel canal;
+        private final ByteBuffer registro = ByteBuffer.allocate(MAIOR_REGISTRO);
+        private int impressao;
+        private int especies;
+        private boolean emSessao = false;
+        private long ultimoInstante;
+
+        Gravador(Path arquivo, CatalogoEspecies catalogo) throws IOException {
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            try {
+                if (canal.size() == 0) {
+                    escreverTudo(ByteBuffer.allocate(8).putInt(MAGICO).putInt(VERSAO).flip());
+                } else {
+                    verificarCabecalho(arquivo);
+                }
+            } catch (IOException e) {
+                canal.close();
+                throw e;
+            }
+            setCatalogo(catalogo);
+        }
+
+        // Outro catálogo carregado: as próximas sessões passam a se referir a ele
+        void setCatalogo(CatalogoEspecies catalogo) {
+            this.impressao = impressao(catalogo);
+            this.especies = catalogo.tamanho();
+        }
+
+        boolean isEmSessao() {
+            return emSessao;
+        }
+
+        // Abre a sessão no primeiro evento depois de um FIM (ou do início do diário)
+        void iniciarSessao(long instante) throws IOException {
+            if (emSessao) return;
+            emSessao = true;
+            ultimoInstante = instante;
+            registro.clear();
+            registro.put(INICIO);
+            escreverVarint(registro, 0);
+            registro.putLong(instante).putInt(impressao);
+            escreverVarint(registro, especies);
+            escrever();
+        }
+
+        void selecao(long instante, int id, byte desfecho) throws IOException {
+            abrir(SELECAO, instante);
+            escreverVarint(registro, id);
+            registro.put(desfecho);
+            escrever();
+        }
+
+        void resultado(long instante, double ddp, int eletrons) throws IOException {
+            abrir(RESULTADO, instante);
+            registro.putDouble(ddp);
+            escreverVarint(registro, eletrons);
+            escrever();
+        }
+
+        void condicoes(long instante, boolean nernst, double concAnodo, double concCatodo, double temperatura, double e) throws IOException {
+            abrir(CONDICOES, instante);
+            registro.put((byte) (nernst ? 1 : 0)).putDouble(concAnodo).putDouble(concCatodo).putDouble(temperatura).putDouble(e);
+            escrever();
+        }
+
+        void fimSessao(long instante) throws IOException {
+            if (!emSessao) return;
+            abrir(FIM, instante);
+            escrever();
+            emSessao = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+
+        private void abrir(byte tipo, long instante) throws IOException {
+            iniciarSessao(instante);
+            registro.clear();
+            registro.put(tipo);
+            escreverVarint(registro, Math.max(0, instante - ultimoInstante));
+            ultimoInstante = Math.max(ultimoInstante, instante);
+        }
+
+        private void escrever() throws IOException {
+            escreverTudo(registro.flip());
+        }
+
+        private void escreverTudo(ByteBuffer dados) throws IOException {
+            while (dados.hasRemaining()) canal.write(dados);
+        }
+
+        private static void verificarCabecalho(Path arquivo) throws IOException {
+            try (InputStream entrada = Files.newInputStream(arquivo)) {
+                byte[] cabecalho = entrada.readNBytes(8);
+                ByteBuffer b = ByteBuffer.wrap(cabecalho);
+                if (cabecalho.length < 8 || b.getInt() != MAGICO || b.getInt() != VERSAO) {
+                    throw new IOException("Não é um diário de sessões (versão " + VERSAO + "): " + arquivo);
+                }
+            }
+        }
+    }
+
+    private static void escreverVarint(ByteBuffer destino, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    // --- LEITURA ---
+    // Lê registro a registro sem criar objetos: os campos do último registro lido ficam nos atributos.
+    // Um registro cortado no fim do arquivo (gravação interrompida) encerra a leitura sem erro.
+    static final class Leitor implements Closeable {
+        private final InputStream entrada;
+        private final byte[] bloco = new byte[1 << 16];
+        private int lidosNoBloco = 0;
+        private int posicaoNoBloco = 0;
+        private long contador = 0;   // bytes já consumidos
+        private long posicao = 8;
+        private boolean cortado = false;
+
+        byte tipo;
+        long intervalo;    // ms desde o registro anterior da sessão
+        long instante;     // INICIO
+        int impressao;     // INICIO
+        int especies;      // INICIO
+        int id;            // SELECAO
+        byte desfecho;     // SELECAO
+        double ddp;        // RESULTADO
+        int eletrons;      // RESULTADO
+        boolean nernst;    // CONDICOES
+        double concAnodo, concCatodo, temperatura, potencial;
+
+        Leitor(Path arquivo) throws IOException {
+            this.entrada = Files.newInputStream(arquivo);
+            try {
+                if (lerInt() != MAGICO || lerInt() != VERSAO) throw new IOException("Não é um diário de sessões: " + arquivo);
+            } catch (EOFException e) {
+                entrada.close();
+                throw new IOException("Não é um diário de sessões: " + arquivo);
+            } catch (IOException e) {
+                entrada.close();
+                throw e;
+            }
+        }
+
+        // Byte do arquivo onde começa o registro lido por último
+        long getPosicao() {
+            return posicao;
+        }
+
+        // true se o arquivo terminou no meio de um registro
+        boolean isCortado() {
+            return cortado;
+        }
+
+        boolean proximo() throws IOException {
+            if (posicaoNoBloco == lidosNoBloco && !encherBloco()) return false;
+            long inicio = contador;
+            try {
+                tipo = lerByte();
+                intervalo = lerVarint();
+                switch (tipo) {
+                    case INICIO -> {
+                        instante = lerLong();
+                        impressao = lerInt();
+                        especies = (int) lerVarint();
+                    }
+                    case SELECAO -> {
+                        id = (int) lerVarint();
+                        desfecho = lerByte();
+                    }
+                    case RESULTADO -> {
+                        ddp = Double.longBitsToDouble(lerLong());
+                        eletrons = (int) lerVarint();
+                    }
+                    case CONDICOES -> {
+                        nernst = lerByte() != 0;
+                        concAnodo = Double.longBitsToDouble(lerLong());
+                        concCatodo = Double.longBitsToDouble(lerLong());
+                        temperatura = Double.longBitsToDouble(lerLong());
+                        potencial = Double.longBitsToDouble(lerLong());
+                    }
+                    case FIM -> { }
+                    default -> throw new IOException("Diário corrompido: registro do tipo " + tipo + " no byte " + inicio);
+                }
+            } catch (EOFException e) {
+                cortado = true;
+                return false;
+            }
+            posicao = inicio;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            entrada.close();
+        }
+
+        // Lê o arquivo em blocos próprios: byte a byte pelo InputStream custaria uma chamada por byte
+        private byte lerByte() throws IOException {
+            if (posicaoNoBloco == lidosNoBloco && !encherBloco()) throw new EOFException();
+            contador++;
+            return bloco[posicaoNoBloco++];
+        }
+
+        private boolean encherBloco() throws IOException {
+            int lidos = entrada.read(bloco);
+            if (lidos <= 0) return false;
+            lidosNoBloco = lidos;
+            posicaoNoBloco = 0;
+            return true;
+        }
+
+        private int lerInt() throws IOException {
+            return (lerByte() & 0xFF) << 24 | (lerByte() & 0xFF) << 16 | (lerByte() & 0xFF) << 8 | (lerByte() & 0xFF);
+        }
+
+        private long lerLong() throws IOException {
+            return (long) lerInt() << 32 | (lerInt() & 0xFFFFFFFFL);
+        }
+
+        private long lerVarint() throws IOException {
+            long valor = 0;
+            for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+                byte b = lerByte();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if (b >= 0) return valor;
+            }
+            throw new IOException("Diário corrompido: número longo demais no byte " + contador);
+        }
+    }
+}
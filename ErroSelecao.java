@@ -0,0 +1,34 @@
+// --- ERROS DE SELEÇÃO DO PAR ---
+// As mesmas regras da janela (processarSelecao) valem para o modo texto e o servidor HTTP.
+enum ErroSelecao {
+    MESMA_ESPECIE("Erro"),
+    MESMO_ELEMENTO("Erro Químico"),
+    CONFLITO_DE_TIPO("Erro de Estado");
+
+    private final String titulo;
+
+    ErroSelecao(String titulo) {
+        this.titulo = titulo;
+    }
+
+    String titulo() {
+        return titulo;
+    }
+
+    String mensagem(informacoesEspecies primeira) {
+        return switch (this) {
+            case MESMA_ESPECIE -> "Você escolheu a mesma espécie duas vezes!";
+            case MESMO_ELEMENTO -> "Mesmo elemento químico (" + primeira.getSimbolo() + "). Escolha metais diferentes.";
+            case CONFLITO_DE_TIPO -> "Conflito de Tipo! Você precisa de um Metal Sólido e um Íon Aquoso.";
+        };
+    }
+
+    // null quando as duas espécies formam uma pilha válida
+    static ErroSelecao validar(informacoesEspecies primeira, informacoesEspecies segunda) {
+        if (segunda.forma().equals(primeira.forma())) return MESMA_ESPECIE;
+        // As duas metades do mesmo par; Fe(s) com o Fe2+ do par Fe3+/Fe2+ não é o mesmo par
+        if (primeira.formaOposta().equals(segunda.forma()) && segunda.formaOposta().equals(primeira.forma())) return MESMO_ELEMENTO;
+        if (primeira.tipo().equals(segunda.tipo())) return CONFLITO_DE_TIPO;
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+import java.util.HashMap;
+import java.util.Map;
+
+// --- BANCO DE DADOS EMBUTIDO ---
+// Os 20 pares usados quando nenhum arquivo de espécies é informado.
+// Fica fora da janela para que o modo texto/servidor use a mesma tabela sem carregar o Swing.
+final class EspeciesPadrao {
+
+    static final CatalogoEspecies CATALOGO;
+
+    static {
+        Map<Integer, informacoesEspecies> bancoDeEspecies = new HashMap<>();
+        bancoDeEspecies.put(1, new informacoesEspecies("Li(s)", "reduzida", "Li+(aq)", -3.04));
+        bancoDeEspecies.put(2, new informacoesEspecies("Li+(aq)", "oxidada", "Li(s)", -3.04));
+        bancoDeEspecies.put(3, new informacoesEspecies("Mg(s)", "reduzida", "Mg2+(aq)", -2.37));
+        bancoDeEspecies.put(4, new informacoesEspecies("Mg2+(aq)", "oxidada", "Mg(s)", -2.37));
+        bancoDeEspecies.put(5, new informacoesEspecies("Al(s)", "reduzida", "Al3+(aq)", -1.66));
+        bancoDeEspecies.put(6, new informacoesEspecies("Al3+(aq)", "oxidada", "Al(s)", -1.66));
+        bancoDeEspecies.put(7, new informacoesEspecies("Zn(s)", "reduzida", "Zn2+(aq)", -0.76));
+        bancoDeEspecies.put(8, new informacoesEspecies("Zn2+(aq)", "oxidada", "Zn(s)", -0.76));
+        bancoDeEspecies.put(9, new informacoesEspecies("Fe(s)", "reduzida", "Fe2+(aq)", -0.44));
+        bancoDeEspecies.put(10, new informacoesEspecies("Fe2+(aq)", "oxidada", "Fe(s)", -0.44));
+        bancoDeEspecies.put(11, new informacoesEspecies("Ni(s)", "reduzida", "Ni2+(aq)", -0.25));
+        bancoDeEspecies.put(12, new informacoesEspecies("Ni2+(aq)", "oxidada", "Ni(s)", -0.25));
+        bancoDeEspecies.put(13, new informacoesEspecies("Pb(s)", "reduzida", "Pb2+(aq)", -0.13));
+        bancoDeEspecies.put(14, new informacoesEspecies("Pb2+(aq)", "oxidada", "Pb(s)", -0.13));
+        bancoDeEspecies.put(15, new informacoesEspecies("Cu(s)", "reduzida", "Cu2+(aq)", +0.34));
+        bancoDeEspecies.put(16, new informacoesEspecies("Cu2+(aq)", "oxidada", "Cu(s)", +0.34));
+        bancoDeEspecies.put(17, new informacoesEspecies("Ag(s)", "reduzida", "Ag+(aq)", +0.80));
+        bancoDeEspecies.put(18, new informacoesEspecies("Ag+(aq)", "oxidada", "Ag(s)", +0.80));
+        bancoDeEspecies.put(19, new informacoesEspecies("Au(s)", "reduzida", "Au3+(aq)", +1.50));
+        bancoDeEspecies.put(20, new informacoesEspecies("Au3+(aq)", "oxidada", "Au(s)", +1.50));
+        CATALOGO = new CatalogoEspecies(bancoDeEspecies);
+    }
+
+    private EspeciesPadrao() {}
+}
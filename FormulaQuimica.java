@@ -0,0 +1,105 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// --- FÓRMULA DE UMA ESPÉCIE ---
+// Separa uma forma como "Zn2+(aq)" em símbolo ("Zn"), carga (+2) e estado ("aq").
+// É lida uma única vez, quando a espécie é criada, para não rodar regex a cada desenho.
+record FormulaQuimica(String simbolo, int carga, String estado, String rotulo) {
+
+    // Ex: "Zn2+(aq)" -> simbolo "Zn", carga 2, estado "aq", rotulo "Zn2+"
+    static FormulaQuimica ler(String forma) {
+        String texto = forma.strip();
+        String estado = "";
+        int fim = texto.length();
+
+        // Estado físico no final: (s), (aq), (l), (g)
+        if (fim > 0 && texto.charAt(fim - 1) == ')') {
+            int abre = texto.lastIndexOf('(');
+            if (abre <= 0) throw new IllegalArgumentException("Fórmula inválida: " + forma);
+            estado = texto.substring(abre + 1, fim - 1);
+            fim = abre;
+        }
+        String rotulo = texto.substring(0, fim);
+
+        // Carga: sinal no final. Os dígitos logo antes do sinal só são a carga quando não há dúvida:
+        //   - separados por espaço ou '^' ("SO4 2-", "SO4^2-", "Hg2^2+");
+        //   - um algarismo depois de um único elemento ("Zn2+", "O2-");
+        //   - um algarismo depois de um grupo com mais de um elemento é índice, e a carga vale 1
+        //     ("MnO4-" = MnO4 com carga -1, "NO3-").
+        // Mais de um algarismo colado ("SO42-", "Hg22+") é recusado: não dá para saber onde a carga começa.
+        int carga = 0;
+        if (fim > 0 && (texto.charAt(fim - 1) == '+' || texto.charAt(fim - 1) == '-')) {
+            int sinal = texto.charAt(fim - 1) == '+' ? 1 : -1;
+            fim--;
+            int inicioDigitos = fim;
+            while (inicioDigitos > 0 && Character.isDigit(texto.charAt(inicioDigitos - 1))) inicioDigitos--;
+            int algarismos = fim - inicioDigitos;
+            boolean separado = inicioDigitos > 0 && (texto.charAt(inicioDigitos - 1) == ' ' || texto.charAt(inicioDigitos - 1) == '^');
+
+            int modulo = 1;
+            if (separado) {
+                if (algarismos > 0) modulo = Integer.parseInt(texto.substring(inicioDigitos, fim));
+                fim = inicioDigitos - 1;
+            } else if (algarismos == 0) {
+                fim = inicioDigitos;
+            } else if (algarismos > 1) {
+                throw new IllegalArgumentException("Carga ambígua em " + forma + ": separe a carga com espaço ou ^ (ex: SO4 2-)");
+            } else if (elementoUnico(texto, inicioDigitos)) {
+                modulo = texto.charAt(inicioDigitos) - '0';
+                fim = inicioDigitos;
+            }
+            // senão: o algarismo é índice do grupo ("MnO4-") e fica no símbolo
+            if (modulo == 0) throw new IllegalArgumentException("Carga zero com sinal em " + forma);
+            carga = sinal * modulo;
+        }
+
+        String simbolo = texto.substring(0, fim).strip();
+        if (simbolo.isEmpty()) throw new IllegalArgumentException("Fórmula sem elemento: " + forma);
+        return new FormulaQuimica(simbolo, carga, estado, rotulo);
+    }
+
+    // Átomos de cada elemento do símbolo ("Cr2O7" -> Cr 2, O 7; "Fe(CN)6" -> C 6, Fe 1, N 6).
+    // Calculado quando pedido (só o balanceamento usa); fórmula que não dá para ler lança IllegalArgumentException.
+    Map<String, Integer> atomos() {
+        Map<String, Integer> contagem = new TreeMap<>();
+        int fim = lerGrupo(simbolo, 0, contagem);
+        if (fim != simbolo.length()) throw new IllegalArgumentException("Parêntese sobrando em " + simbolo);
+        return contagem;
+    }
+
+    // Elementos e grupos entre parênteses, cada um com seu índice, até ')' ou o fim; devolve onde parou
+    private static int lerGrupo(String texto, int i, Map<String, Integer> destino) {
+        while (i < texto.length() && texto.charAt(i) != ')') {
+            Map<String, Integer> parte;
+            char c = texto.charAt(i);
+            if (c == '(') {
+                parte = new HashMap<>();
+                i = lerGrupo(texto, i + 1, parte);
+                if (i >= texto.length()) throw new IllegalArgumentException("Parêntese sem fechar em " + texto);
+                i++;
+            } else if (Character.isUpperCase(c)) {
+                int j = i + 1;
+                while (j < texto.length() && Character.isLowerCase(texto.charAt(j))) j++;
+                parte = Map.of(texto.substring(i, j), 1);
+                i = j;
+            } else {
+                throw new IllegalArgumentException("Caractere inesperado '" + c + "' em " + texto);
+            }
+            int j = i;
+            while (j < texto.length() && Character.isDigit(texto.charAt(j))) j++;
+            int indice = j > i ? Integer.parseInt(texto.substring(i, j)) : 1;
+            i = j;
+            for (Map.Entry<String, Integer> e : parte.entrySet()) {
+                destino.merge(e.getKey(), Math.multiplyExact(e.getValue(), indice), Integer::sum);
+            }
+        }
+        return i;
+    }
+
+    // O texto até 'fim' é um símbolo de elemento só ("Zn", "O")
+    private static boolean elementoUnico(String texto, int fim) {
+        if (fim < 1 || fim > 2 || !Character.isUpperCase(texto.charAt(0))) return false;
+        return fim == 1 || Character.isLowerCase(texto.charAt(1));
+    }
+}
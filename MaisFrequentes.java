@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// --- ITENS MAIS FREQUENTES NUM FLUXO (SPACE-SAVING) ---
+// Conta os itens mais comuns de um fluxo de qualquer tamanho guardando no máximo 'capacidade' contadores.
+// Item novo com os contadores cheios toma o lugar do de menor contagem e herda essa contagem (+1),
+// anotada como erro máximo. Garantias: contagem - erroMaximo <= frequência real <= contagem, e todo
+// item que aparece mais de total/capacidade vezes está na lista.
+// Os contadores ficam num heap de mínimo em vetores (a raiz é a próxima vítima); o mapa só diz onde cada chave está.
+final class MaisFrequentes {
+
+    record Item(long chave, long contagem, long erroMaximo) {}
+
+    private final int capacidade;
+    private final long[] chaves;
+    private final long[] contagens;
+    private final long[] erros;
+    private final Map<Long, Integer> posicoes;
+    private int tamanho = 0;
+    private long total = 0;
+
+    MaisFrequentes(int capacidade) {
+        if (capacidade <= 0) throw new IllegalArgumentException("Capacidade deve ser positiva: " + capacidade);
+        this.capacidade = capacidade;
+        this.chaves = new long[capacidade];
+        this.contagens = new long[capacidade];
+        this.erros = new long[capacidade];
+        this.posicoes = new HashMap<>(capacidade * 2);
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    void adicionar(long chave) {
+        total++;
+        Integer posicao = posicoes.get(chave);
+        if (posicao != null) {
+            contagens[posicao]++;
+            descer(posicao);
+        } else if (tamanho < capacidade) {
+            int nova = tamanho++;
+            chaves[nova] = chave;
+            contagens[nova] = 1;
+            erros[nova] = 0;
+            posicoes.put(chave, nova);
+            subir(nova);
+        } else {
+            // Substitui o de menor contagem
+            posicoes.remove(chaves[0]);
+            long minimo = contagens[0];
+            chaves[0] = chave;
+            contagens[0] = minimo + 1;
+            erros[0] = minimo;
+            posicoes.put(chave, 0);
+            descer(0);
+        }
+    }
+
+    // Os k de maior contagem, do maior para o menor
+    List<Item> maiores(int k) {
+        List<Item> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) itens.add(new Item(chaves[i], contagens[i], erros[i]));
+        itens.sort((a, b) -> Long.compare(b.contagem(), a.contagem()));
+        return itens.subList(0, Math.min(k, itens.size()));
+    }
+
+    // --- HEAP DE MÍNIMO ---
+
+    private void subir(int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (contagens[pai] <= contagens[i]) break;
+            trocar(i, pai);
+            i = pai;
+        }
+    }
+
+    private void descer(int i) {
+        while (true) {
+            int menor = i;
+            int esquerdo = 2 * i + 1;
+            if (esquerdo < tamanho && contagens[esquerdo] < contagens[menor]) menor = esquerdo;
+            if (esquerdo + 1 < tamanho && contagens[esquerdo + 1] < contagens[menor]) menor = esquerdo + 1;
+            if (menor == i) return;
+            trocar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long chave = chaves[a];
+        long contagem = contagens[a];
+        long erro = erros[a];
+        chaves[a] = chaves[b];
+        contagens[a] = contagens[b];
+        erros[a] = erros[b];
+        chaves[b] = chave;
+        contagens[b] = contagem;
+        erros[b] = erro;
+        posicoes.put(chaves[a], a);
+        posicoes.put(chaves[b], b);
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// --- MÉTRICAS DE DESEMPENHO ---
+// Mede as seções quentes da janela (seleção, montagem da pilha e pintura do painel):
+//   - tempo de cada execução num histograma de baldes em potências de 2 (1 µs a ~16 s), sem guardar amostras;
+//   - bytes alocados pela thread durante a seção (ThreadMXBean da HotSpot, quando disponível);
+//   - repinturas por segundo e taxa de alocação da EDT, em janelas de 1 s;
+//   - um evento JFR por execução ("simulador.Secao"), criado só quando há uma gravação JFR ativa
+//     (ex: java -XX:StartFlightRecording=filename=sim.jfr SimuladorSwing).
+// exportar() grava tudo no formato texto do Prometheus.
+// Sem gravação JFR, medir não aloca nada: cada seção tem uma Medicao só, reaproveitada a cada execução.
+final class Metricas {
+
+    static final int SELECAO = 0;
+    static final int MONTAGEM = 1;
+    static final int PINTURA = 2;
+    private static final String[] SECOES = {"processar_selecao", "finalizar_simulacao", "pintura_painel"};
+
+    static final Metricas GLOBAL = new Metricas();
+
+    private static final int BALDES = 25;   // limite do balde i = 2^i µs; o último conta o que passar disso
+    private static final long JANELA = 1_000_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadsComAlocacao();
+
+    // Evento JFR de uma execução de seção (duração medida pelo próprio JFR)
+    @Name("simulador.Secao")
+    @Label("Seção do simulador")
+    @Category("Simulador de Oxirredução")
+    @Description("Uma execução de seleção, montagem da pilha ou pintura do painel")
+    static class EventoSecao extends Event {
+        @Label("Seção")
+        String secao;
+
+        @Label("Bytes alocados")
+        @DataAmount
+        long bytesAlocados;
+    }
+
+    // Só para perguntar ao JFR se o evento está ligado (muda quando uma gravação começa ou termina)
+    private static final EventoSecao SONDA_JFR = new EventoSecao();
+
+    // A execução em andamento de uma seção: iniciar() reabre, terminar() fecha.
+    // Uma por seção, então cada seção só pode ter uma execução aberta por vez (todas rodam na EDT).
+    final class Medicao {
+        private final int secao;
+        private long inicio;
+        private long bytesInicio;
+        private EventoSecao evento;   // null sem gravação JFR
+
+        private Medicao(int secao) {
+            this.secao = secao;
+        }
+
+        private Medicao comecar() {
+            evento = null;
+            if (SONDA_JFR.isEnabled()) {
+                evento = new EventoSecao();
+                evento.begin();
+            }
+            bytesInicio = bytesDaThread();
+            inicio = System.nanoTime();
+            return this;
+        }
+
+        void terminar() {
+            long duracao = System.nanoTime() - inicio;
+            long bytes = bytesInicio < 0 ? -1 : bytesDaThread() - bytesInicio;
+            if (evento != null) {
+                evento.end();
+                if (evento.shouldCommit()) {
+                    evento.secao = SECOES[secao];
+                    evento.bytesAlocados = Math.max(bytes, 0);
+                    evento.commit();
+                }
+                evento = null;
+            }
+            registrar(secao, duracao, bytes);
+        }
+    }
+
+    private final Medicao[] medicoes = new Medicao[SECOES.length];
+
+    private Metricas() {
+        for (int s = 0; s < SECOES.length; s++) medicoes[s] = new Medicao(s);
+    }
+
+    // --- ESTADO (protegido pelo monitor do objeto) ---
+    private final long[][] baldes = new long[SECOES.length][BALDES + 1];
+    private final long[] contagem = new long[SECOES.length];
+    private final long[] somaNanos = new long[SECOES.length];
+    private final long[] maximoNanos = new long[SECOES.length];
+    private final long[] bytesAlocados = new long[SECOES.length];
+
+    private long inicioJanela = System.nanoTime();
+    private long pinturasJanela = 0;
+    private long bytesEdtJanela = -1;
+    private double repinturasPorSegundo = 0;
+    private double alocacaoEdtPorSegundo = -1;
+
+    Medicao iniciar(int secao) {
+        return medicoes[secao].comecar();
+    }
+
+    private synchronized void registrar(int secao, long nanos, long bytes) {
+        contagem[secao]++;
+        somaNanos[secao] += nanos;
+        if (nanos > maximoNanos[secao]) maximoNanos[secao] = nanos;
+        baldes[secao][balde(nanos)]++;
+        if (bytes > 0) bytesAlocados[secao] += bytes;
+
+        if (secao == PINTURA) {
+            // A pintura roda na EDT: a janela de 1 s serve para a taxa de repintura e a alocação da EDT
+            pinturasJanela++;
+            long agora = System.nanoTime();
+            long decorrido = agora - inicioJanela;
+            if (decorrido >= JANELA) {
+                long bytesAgora = bytesDaThread();
+                repinturasPorSegundo = pinturasJanela * 1e9 / decorrido;
+                alocacaoEdtPorSegundo = bytesEdtJanela < 0 || bytesAgora < 0 ? -1 : (bytesAgora - bytesEdtJanela) * 1e9 / decorrido;
+                bytesEdtJanela = bytesAgora;
+                inicioJanela = agora;
+                pinturasJanela = 0;
+            }
+        }
+    }
+
+    // Balde i guarda durações em (2^(i-1), 2^i] µs
+    static int balde(long nanos) {
+        long micros = (nanos + 999) / 1000;
+        if (micros <= 1) return 0;
+        return Math.min(BALDES, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    // Limite superior do balde, em segundos (infinito no último)
+    private static double limiteSegundos(int balde) {
+        return balde >= BALDES ? Double.POSITIVE_INFINITY : (1L << balde) / 1e6;
+    }
+
+    // --- LEITURA ---
+
+    // Quantil aproximado (limite superior do balde onde ele cai), em milissegundos
+    synchronized double quantilMs(int secao, double q) {
+        long total = contagem[secao];
+        if (total == 0) return 0;
+        long alvo = (long) Math.ceil(q * total);
+        long acumulado = 0;
+        for (int b = 0; b <= BALDES; b++) {
+            acumulado += baldes[secao][b];
+            if (acumulado >= alvo) return b >= BALDES ? maximoNanos[secao] / 1e6 : limiteSegundos(b) * 1000;
+        }
+        return maximoNanos[secao] / 1e6;
+    }
+
+    // Linhas prontas para a sobreposição na tela (duas por seção, para caber num painel estreito)
+    synchronized List<String> resumo() {
+        List<String> linhas = new ArrayList<>(2 * SECOES.length + 1);
+        for (int s = 0; s < SECOES.length; s++) {
+            long n = contagem[s];
+            String alocacao = n == 0 || THREADS == null ? "" : String.format(Locale.ROOT, "  %.1f KB/op", bytesAlocados[s] / 1024.0 / n);
+            linhas.add(SECOES[s] + " (n=" + n + ")");
+            linhas.add(String.format(Locale.ROOT, "  p50<=%.2f p95<=%.2f p99<=%.2f máx %.2f ms%s",
+                    quantilMs(s, 0.5), quantilMs(s, 0.95), quantilMs(s, 0.99), maximoNanos[s] / 1e6, alocacao));
+        }
+        linhas.add(String.format(Locale.ROOT, "repinturas: %.1f/s  alocação EDT: %s", repinturasPorSegundo,
+                alocacaoEdtPorSegundo < 0 ? "n/d" : String.format(Locale.ROOT, "%.2f MB/s", alocacaoEdtPorSegundo / (1024 * 1024))));
+        return linhas;
+    }
+
+    // --- EXPORTAÇÃO (formato texto do Prometheus) ---
+
+    synchronized String formatoPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# HELP simulador_secao_segundos Duração das seções instrumentadas do simulador.\n");
+        sb.append("# TYPE simulador_secao_segundos histogram\n");
+        for (int s = 0; s < SECOES.length; s++) {
+            long acumulado = 0;
+            for (int b = 0; b <= BALDES; b++) {
+                acumulado += baldes[s][b];
+                String limite = b >= BALDES ? "+Inf" : String.format(Locale.ROOT, "%.6f", limiteSegundos(b));
+                sb.append("simulador_secao_segundos_bucket{secao=\"").append(SECOES[s]).append("\",le=\"").append(limite)
+                        .append("\"} ").append(acumulado).append('\n');
+            }
+            sb.append("simulador_secao_segundos_sum{secao=\"").append(SECOES[s]).append("\"} ")
+                    .append(String.format(Locale.ROOT, "%.9f", somaNanos[s] / 1e9)).append('\n');
+            sb.append("simulador_secao_segundos_count{secao=\"").append(SECOES[s]).append("\"} ").append(contagem[s]).append('\n');
+        }
+        if (THREADS != null) {
+            sb.append("# HELP simulador_secao_bytes_alocados_total Bytes alocados pela thread durante as seções.\n");
+            sb.append("# TYPE simulador_secao_bytes_alocados_total counter\n");
+            for (int s = 0; s < SECOES.length; s++) {
+                sb.append("simulador_secao_bytes_alocados_total{secao=\"").append(SECOES[s]).append("\"} ")
+                        .append(bytesAlocados[s]).append('\n');
+            }
+        }
+        sb.append("# HELP simulador_repinturas_por_segundo Repinturas do painel na última janela de 1 s.\n");
+        sb.append("# TYPE simulador_repinturas_por_segundo gauge\n");
+        sb.append("simulador_repinturas_por_segundo ").append(String.format(Locale.ROOT, "%.3f", repinturasPorSegundo)).append('\n');
+        if (alocacaoEdtPorSegundo >= 0) {
+            sb.append("# HELP simulador_alocacao_edt_bytes_por_segundo Bytes alocados pela EDT por segundo (última janela).\n");
+            sb.append("# TYPE simulador_alocacao_edt_bytes_por_segundo gauge\n");
+            sb.append("simulador_alocacao_edt_bytes_por_segundo ").append(String.format(Locale.ROOT, "%.0f", alocacaoEdtPorSegundo)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // Grava num temporário e troca de uma vez, para um coletor nunca ler o arquivo pela metade
+    void exportar(Path arquivo) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        Files.writeString(temporario, formatoPrometheus(), StandardCharsets.UTF_8);
+        try {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // --- ALOCAÇÃO POR THREAD ---
+
+    private static com.sun.management.ThreadMXBean threadsComAlocacao() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported()) {
+                if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // JVM sem a extensão da HotSpot: as métricas de alocação ficam de fora
+        }
+        return null;
+    }
+
+    private static long bytesDaThread() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,200 @@
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+
+// --- MODELO DA TABELA DE ESPÉCIES ---
+// Lê direto das colunas do CatalogoEspecies: a tabela só guarda um int[] com as posições visíveis,
+// e cada célula é buscada no catálogo quando a JTable vai desenhá-la (nenhuma linha é copiada).
+//
+// Busca, filtro por tipo e ordem rodam fora da EDT (SwingWorker); o novo int[] entra de uma vez,
+// e respostas de consultas já superadas são descartadas. Digitar mais letras na busca só filtra
+// o resultado anterior, em vez de varrer o catálogo todo de novo.
+//
+// Durante o carregamento de um arquivo (ainda sem catálogo) as linhas lidas vão sendo acrescentadas
+// em colunas próprias, na ordem de chegada; busca e filtros valem quando o catálogo fica pronto.
+final class ModeloTabelaEspecies extends AbstractTableModel {
+
+    enum Filtro { TODAS, REDUZIDAS, OXIDADAS }
+
+    enum Ordem { ID, POTENCIAL }
+
+    private static final String[] COLUNAS = {"ID", "Espécie", "E° (V)"};
+
+    private CatalogoEspecies catalogo;
+    private int[] linhas = new int[0];   // posições no catálogo, na ordem mostrada
+
+    // Última consulta pedida, e a que gerou o 'linhas' atual (null = nenhuma)
+    private String busca = "";
+    private Filtro filtro = Filtro.TODAS;
+    private Ordem ordem = Ordem.ID;
+    private String buscaAplicada = null;
+    private Filtro filtroAplicado = null;
+    private Ordem ordemAplicada = null;
+    private int geracao = 0;             // só a resposta da consulta mais recente é aplicada
+
+    // Linhas do arquivo que ainda está sendo carregado
+    private int[] idsCarga = new int[0];
+    private String[] formasCarga = new String[0];
+    private double[] potenciaisCarga = new double[0];
+    private int quantidadeCarga = 0;
+
+    ModeloTabelaEspecies(CatalogoEspecies catalogo) {
+        setCatalogo(catalogo);
+    }
+
+    // --- TABLE MODEL ---
+
+    @Override
+    public int getRowCount() {
+        return catalogo != null ? linhas.length : quantidadeCarga;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return COLUNAS[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return switch (coluna) {
+            case 0 -> Integer.class;
+            case 1 -> String.class;
+            default -> Double.class;
+        };
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        if (catalogo == null) {
+            return switch (coluna) {
+                case 0 -> idsCarga[linha];
+                case 1 -> formasCarga[linha];
+                default -> potenciaisCarga[linha];
+            };
+        }
+        int posicao = linhas[linha];
+        return switch (coluna) {
+            case 0 -> catalogo.getId(posicao);
+            case 1 -> catalogo.getForma(posicao);
+            default -> catalogo.getPotencial(posicao);
+        };
+    }
+
+    // ID da espécie mostrada na linha
+    int getId(int linha) {
+        return catalogo != null ? catalogo.getId(linhas[linha]) : idsCarga[linha];
+    }
+
+    // --- CARREGAMENTO ---
+
+    // Troca o catálogo (fim de um carregamento, ou volta para a tabela embutida) e reaplica a consulta
+    void setCatalogo(CatalogoEspecies catalogo) {
+        this.catalogo = catalogo;
+        idsCarga = new int[0];
+        formasCarga = new String[0];
+        potenciaisCarga = new double[0];
+        quantidadeCarga = 0;
+        linhas = new int[0];
+        buscaAplicada = null;
+        fireTableDataChanged();
+        consultar(busca, filtro, ordem);
+    }
+
+    // Esvazia a tabela para receber as linhas de um arquivo novo
+    void iniciarCarga() {
+        catalogo = null;
+        geracao++;
+        linhas = new int[0];
+        buscaAplicada = null;
+        quantidadeCarga = 0;
+        fireTableDataChanged();
+    }
+
+    // Cada linha: {Integer id, String forma, Double potencial}
+    void adicionarCarregadas(List<Object[]> novas) {
+        if (catalogo != null || novas.isEmpty()) return;
+        int primeira = quantidadeCarga;
+        int necessario = quantidadeCarga + novas.size();
+        if (necessario > idsCarga.length) {
+            int capacidade = Math.max(necessario, Math.max(64, idsCarga.length * 2));
+            idsCarga = Arrays.copyOf(idsCarga, capacidade);
+            formasCarga = Arrays.copyOf(formasCarga, capacidade);
+            potenciaisCarga = Arrays.copyOf(potenciaisCarga, capacidade);
+        }
+        for (Object[] linha : novas) {
+            idsCarga[quantidadeCarga] = (Integer) linha[0];
+            formasCarga[quantidadeCarga] = (String) linha[1];
+            potenciaisCarga[quantidadeCarga] = (Double) linha[2];
+            quantidadeCarga++;
+        }
+        fireTableRowsInserted(primeira, quantidadeCarga - 1);
+    }
+
+    // --- BUSCA, FILTRO E ORDEM ---
+
+    void consultar(String novaBusca, Filtro novoFiltro, Ordem novaOrdem) {
+        String texto = novaBusca.strip();
+        // Mais letras no fim da busca que gerou as linhas atuais (mesmo filtro e ordem): basta filtrar essas linhas
+        int[] base = buscaAplicada != null && novoFiltro == filtroAplicado && novaOrdem == ordemAplicada
+                && texto.startsWith(buscaAplicada) ? linhas : null;
+        busca = texto;
+        filtro = novoFiltro;
+        ordem = novaOrdem;
+        if (catalogo == null) return;
+
+        int minhaGeracao = ++geracao;
+        CatalogoEspecies alvo = catalogo;
+        new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() {
+                return filtrar(alvo, base, texto, novoFiltro, novaOrdem);
+            }
+
+            @Override
+            protected void done() {
+                if (minhaGeracao != geracao || alvo != catalogo) return; // já existe uma consulta mais nova
+                try {
+                    linhas = get();
+                    buscaAplicada = texto;
+                    filtroAplicado = novoFiltro;
+                    ordemAplicada = novaOrdem;
+                    fireTableDataChanged();
+                } catch (Exception e) {
+                    System.err.println("Falha ao filtrar a tabela: " + e);
+                }
+            }
+        }.execute();
+    }
+
+    // Roda fora da EDT: só lê o catálogo (imutável) e o vetor base, que nunca é alterado depois de publicado
+    static int[] filtrar(CatalogoEspecies catalogo, int[] base, String busca, Filtro filtro, Ordem ordem) {
+        int n = base != null ? base.length : catalogo.tamanho();
+        int[] resultado = new int[n];
+        int quantidade = 0;
+        for (int k = 0; k < n; k++) {
+            int posicao;
+            if (base != null) posicao = base[k];
+            else posicao = ordem == Ordem.POTENCIAL ? catalogo.ordemPorPotencial[k] : k;
+
+            if (filtro == Filtro.REDUZIDAS && !catalogo.isReduzida(posicao)) continue;
+            if (filtro == Filtro.OXIDADAS && catalogo.isReduzida(posicao)) continue;
+            if (!busca.isEmpty() && !contemIgnorandoCaixa(catalogo.getForma(posicao), busca)) continue;
+            resultado[quantidade++] = posicao;
+        }
+        return quantidade == n ? resultado : Arrays.copyOf(resultado, quantidade);
+    }
+
+    private static boolean contemIgnorandoCaixa(String texto, String trecho) {
+        int ultimo = texto.length() - trecho.length();
+        for (int i = 0; i <= ultimo; i++) {
+            if (texto.regionMatches(true, i, trecho, 0, trecho.length())) return true;
+        }
+        return false;
+    }
+}
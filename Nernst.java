@@ -0,0 +1,97 @@
+import java.util.stream.IntStream;
+
+// --- EQUAÇÃO DE NERNST (CONDIÇÕES NÃO PADRÃO) ---
+// A reação balanceada da pilha (ResultadoPilha.reacao()) troca n elétrons e  E = E° - (RT / nF) ln Q.
+// Só entra a concentração do íon em solução de cada par (sólidos, gases e líquidos ficam com atividade 1,
+// H+ e H2O também). Na semirreação de redução de um par esse íon pode ser a forma oxidada (Zn2+ em
+// Zn2+ + 2 e- -> Zn, expoente +1/2) ou a reduzida (Cl- em Cl2 + 2 e- -> 2 Cl-, expoente -2/2); com os
+// expoentes por elétron eA e eC da equação balanceada,  ln Q = n (eA ln[íon do ânodo] - eC ln[íon do cátodo]),
+// o n se cancela e sobra  E = E° - (RT/F) (eA ln[íon do ânodo] - eC ln[íon do cátodo]).
+// Para Zn | Zn2+ || Cu2+ | Cu (eA = eC = 1/2) é a forma de sempre, Q = [Zn2+] / [Cu2+].
+final class Nernst {
+
+    static final double R = 8.314462618;        // J / (mol K)
+    static final double F = 96485.33212;        // C / mol
+    static final double TEMPERATURA_PADRAO = 298.15;
+
+    // Abaixo disso (células da varredura) não compensa dividir entre threads
+    private static final int LIMIAR_PARALELO = 1 << 16;
+
+    private Nernst() {}
+
+    // Potencial da pilha nas concentrações (mol/L) e temperatura (K) dadas; expoentes como no cabeçalho
+    static double potencial(double eZero, double expoenteAnodo, double expoenteCatodo,
+                            double concIonAnodo, double concIonCatodo, double temperatura) {
+        validar(expoenteAnodo, expoenteCatodo, temperatura);
+        if (!(concIonAnodo > 0) || !(concIonCatodo > 0)) {
+            throw new IllegalArgumentException("Concentrações devem ser positivas");
+        }
+        return eZero - R * temperatura / F * (expoenteAnodo * Math.log(concIonAnodo) - expoenteCatodo * Math.log(concIonCatodo));
+    }
+
+    static double potencial(AvaliadorPilhas.ResultadoPilha pilha, double concIonAnodo, double concIonCatodo, double temperatura) {
+        BalanceadorEquacoes.EquacaoBalanceada reacao = pilha.reacao();
+        return potencial(pilha.ddp(), reacao.expoenteIonAnodo(), reacao.expoenteIonCatodo(), concIonAnodo, concIonCatodo, temperatura);
+    }
+
+    // --- VARREDURAS ---
+
+    // Uma linha por temperatura, uma coluna por concentração do íon do cátodo (íon do ânodo fixo).
+    // resultado[t][c] = E(temperaturas[t], concCatodo[c])
+    static double[][] varrer(double eZero, double expoenteAnodo, double expoenteCatodo, double concIonAnodo,
+                             double[] concIonCatodo, double[] temperaturas) {
+        for (double t : temperaturas) validar(expoenteAnodo, expoenteCatodo, t);
+        if (!(concIonAnodo > 0)) throw new IllegalArgumentException("Concentrações devem ser positivas");
+
+        // ln das concentrações uma vez só; o laço interno fica só com multiplicação e soma
+        int colunas = concIonCatodo.length;
+        double[] lnCatodo = new double[colunas];
+        for (int c = 0; c < colunas; c++) {
+            if (!(concIonCatodo[c] > 0)) throw new IllegalArgumentException("Concentrações devem ser positivas");
+            lnCatodo[c] = expoenteCatodo * Math.log(concIonCatodo[c]);
+        }
+        double lnAnodo = expoenteAnodo * Math.log(concIonAnodo);
+
+        double[][] resultado = new double[temperaturas.length][colunas];
+        IntStream linhas = IntStream.range(0, temperaturas.length);
+        if ((long) temperaturas.length * colunas >= LIMIAR_PARALELO) linhas = linhas.parallel();
+        linhas.forEach(t -> {
+            double fator = R * temperaturas[t] / F;
+            double base = eZero - fator * lnAnodo;
+            double[] linha = resultado[t];
+            for (int c = 0; c < colunas; c++) {
+                linha[c] = base + fator * lnCatodo[c];
+            }
+        });
+        return resultado;
+    }
+
+    static double[][] varrer(AvaliadorPilhas.ResultadoPilha pilha, double concIonAnodo,
+                             double[] concIonCatodo, double[] temperaturas) {
+        BalanceadorEquacoes.EquacaoBalanceada reacao = pilha.reacao();
+        return varrer(pilha.ddp(), reacao.expoenteIonAnodo(), reacao.expoenteIonCatodo(), concIonAnodo, concIonCatodo, temperaturas);
+    }
+
+    // n valores de 10^de até 10^ate, igualmente espaçados em escala log (bom para concentrações)
+    static double[] escalaLog(double de, double ate, int n) {
+        double[] valores = new double[n];
+        double passo = n > 1 ? (ate - de) / (n - 1) : 0;
+        for (int i = 0; i < n; i++) valores[i] = Math.pow(10, de + passo * i);
+        return valores;
+    }
+
+    // n valores igualmente espaçados de 'de' até 'ate' (bom para temperaturas)
+    static double[] escalaLinear(double de, double ate, int n) {
+        double[] valores = new double[n];
+        double passo = n > 1 ? (ate - de) / (n - 1) : 0;
+        for (int i = 0; i < n; i++) valores[i] = de + passo * i;
+        return valores;
+    }
+
+    private static void validar(double expoenteAnodo, double expoenteCatodo, double temperatura) {
+        if (!Double.isFinite(expoenteAnodo) || !Double.isFinite(expoenteCatodo)) {
+            throw new IllegalArgumentException("Expoentes dos íons devem ser finitos");
+        }
+        if (!(temperatura > 0)) throw new IllegalArgumentException("Temperatura deve ser positiva (em kelvin)");
+    }
+}
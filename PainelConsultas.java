@@ -0,0 +1,166 @@
+import java.awt.BorderLayout;
+import java.awt.CardLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.BiConsumer;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.table.DefaultTableModel;
+
+// --- PAINEL "MELHORES PARES" ---
+// Fica ao lado da Tabela de Espécies e responde as consultas de ConsultasPares.
+// Dois cliques num resultado montam aquela pilha na janela.
+class PainelConsultas extends JPanel {
+
+    private static final String[] CONSULTAS = {"Maiores ddp", "ddp entre a e b", "Melhor cátodo para o ânodo"};
+    private static final int MAX_LINHAS = 1000;
+
+    private ConsultasPares consultas;
+    private CatalogoEspecies catalogo;
+    private final BiConsumer<informacoesEspecies, informacoesEspecies> aoEscolher;
+
+    private final JComboBox<String> cmbConsulta = new JComboBox<>(CONSULTAS);
+    private final JSpinner spnK = new JSpinner(new SpinnerNumberModel(10, 1, MAX_LINHAS, 1));
+    private final JSpinner spnMinimo = new JSpinner(new SpinnerNumberModel(1.0, 0.0, 20.0, 0.05));
+    private final JSpinner spnMaximo = new JSpinner(new SpinnerNumberModel(1.5, 0.0, 20.0, 0.05));
+    private final JTextField txtAnodo = new JTextField("Zn(s)", 6);
+    private final JSpinner spnAlvo = new JSpinner(new SpinnerNumberModel(0.0, 0.0, 20.0, 0.05)); // 0 = maior ddp
+    private final JPanel cartoes = new JPanel(new CardLayout());
+    private final DefaultTableModel modeloResultados;
+    private final JLabel lblResumo = new JLabel(" ");
+    private List<ConsultasPares.Par> resultados = List.of();
+
+    PainelConsultas(CatalogoEspecies catalogo, BiConsumer<informacoesEspecies, informacoesEspecies> aoEscolher) {
+        super(new BorderLayout());
+        this.aoEscolher = aoEscolher;
+        setBorder(BorderFactory.createTitledBorder("Melhores Pares"));
+        this.catalogo = catalogo;
+        this.consultas = new ConsultasPares(catalogo);
+
+        // Parâmetros de cada consulta (um cartão por consulta)
+        JPanel porK = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        porK.add(new JLabel("k:"));
+        porK.add(spnK);
+        JPanel porFaixa = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        porFaixa.add(new JLabel("a (V):"));
+        porFaixa.add(spnMinimo);
+        porFaixa.add(new JLabel("b (V):"));
+        porFaixa.add(spnMaximo);
+        JPanel porAnodo = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        porAnodo.add(new JLabel("Ânodo:"));
+        porAnodo.add(txtAnodo);
+        porAnodo.add(new JLabel("Alvo (V):"));
+        porAnodo.add(spnAlvo);
+        cartoes.add(porK, CONSULTAS[0]);
+        cartoes.add(porFaixa, CONSULTAS[1]);
+        cartoes.add(porAnodo, CONSULTAS[2]);
+        cmbConsulta.addActionListener(e -> ((CardLayout) cartoes.getLayout()).show(cartoes, (String) cmbConsulta.getSelectedItem()));
+
+        JButton btnBuscar = new JButton("Buscar");
+        btnBuscar.addActionListener(e -> buscar());
+        txtAnodo.addActionListener(e -> buscar());
+
+        JPanel topo = new JPanel(new GridLayout(3, 1));
+        topo.add(cmbConsulta);
+        topo.add(cartoes);
+        JPanel linhaBotao = new JPanel(new BorderLayout());
+        linhaBotao.add(btnBuscar, BorderLayout.WEST);
+        linhaBotao.add(lblResumo, BorderLayout.CENTER);
+        topo.add(linhaBotao);
+        add(topo, BorderLayout.NORTH);
+
+        modeloResultados = new DefaultTableModel(new String[]{"Ânodo", "Cátodo", "ddp (V)"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        JTable tabelaResultados = new JTable(modeloResultados);
+        tabelaResultados.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tabelaResultados.setFont(new Font("SansSerif", Font.PLAIN, 13));
+        tabelaResultados.setRowHeight(22);
+        tabelaResultados.setToolTipText("Dois cliques para montar a pilha");
+        tabelaResultados.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int linha = tabelaResultados.getSelectedRow();
+                if (e.getClickCount() == 2 && linha != -1 && linha < resultados.size()) {
+                    ConsultasPares.Par par = resultados.get(linha);
+                    aoEscolher.accept(PainelConsultas.this.catalogo.get(par.anodo()), PainelConsultas.this.catalogo.get(par.catodo()));
+                }
+            }
+        });
+        JScrollPane scroll = new JScrollPane(tabelaResultados);
+        scroll.setPreferredSize(new Dimension(300, 0));
+        add(scroll, BorderLayout.CENTER);
+    }
+
+    // Chamado quando outro arquivo de espécies termina de carregar
+    void setCatalogo(CatalogoEspecies catalogo) {
+        this.catalogo = catalogo;
+        this.consultas = new ConsultasPares(catalogo);
+        resultados = List.of();
+        modeloResultados.setRowCount(0);
+        lblResumo.setText(" ");
+    }
+
+    private void buscar() {
+        long inicio = System.nanoTime();
+        String resumo;
+        switch (cmbConsulta.getSelectedIndex()) {
+            case 0 -> {
+                resultados = consultas.maioresDdp(((Number) spnK.getValue()).intValue());
+                resumo = resultados.size() + " pares";
+            }
+            case 1 -> {
+                double a = ((Number) spnMinimo.getValue()).doubleValue();
+                double b = ((Number) spnMaximo.getValue()).doubleValue();
+                long total = consultas.contarNaFaixa(a, b);
+                resultados = consultas.paresNaFaixa(a, b, MAX_LINHAS);
+                resumo = total > resultados.size() ? total + " pares (mostrando " + resultados.size() + ")" : total + " pares";
+            }
+            default -> {
+                informacoesEspecies anodo = anodoDigitado(txtAnodo.getText().strip());
+                if (anodo == null) {
+                    resultados = List.of();
+                    resumo = "Espécie desconhecida";
+                    break;
+                }
+                double alvo = ((Number) spnAlvo.getValue()).doubleValue();
+                ConsultasPares.Par par = alvo > 0 ? consultas.catodoMaisProximo(anodo, alvo) : consultas.melhorCatodo(anodo);
+                resultados = par == null ? List.of() : List.of(par);
+                resumo = par == null ? "Nenhum cátodo com potencial maior" : "1 par";
+            }
+        }
+        double ms = (System.nanoTime() - inicio) / 1e6;
+
+        modeloResultados.setRowCount(0);
+        for (ConsultasPares.Par par : resultados) {
+            modeloResultados.addRow(new Object[]{catalogo.getForma(par.anodo()), catalogo.getForma(par.catodo()),
+                    String.format("%.2f", par.ddp())});
+        }
+        lblResumo.setText(String.format(" %s em %.2f ms", resumo, ms));
+    }
+
+    // Forma digitada para o ânodo; se ela estiver em mais de um par (Fe2+ em Fe3+/Fe2+ e Fe2+/Fe),
+    // vale o par em que ela é a forma reduzida, que é quem oxida no ânodo
+    private informacoesEspecies anodoDigitado(String forma) {
+        int[] posicoes = catalogo.posicoesDaForma(forma);
+        for (int posicao : posicoes) {
+            if (catalogo.isReduzida(posicao)) return catalogo.get(posicao);
+        }
+        return posicoes.length == 0 ? null : catalogo.get(posicoes[0]);
+    }
+}
@@ -0,0 +1,361 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// --- REPRODUÇÃO DE SESSÕES (SEM SWING) ---
+// Lê diários gravados pela janela (SimuladorSwing --gravar arquivo) e refaz cada sessão o mais rápido
+// possível, com as mesmas regras de processarSelecao e finalizarSimulacao:
+//   - regressão: o desfecho de cada clique, a ddp, os elétrons e o E de Nernst recalculados têm de
+//     bater com os gravados; cada diferença é contada e as primeiras são listadas;
+//   - análise da turma: total de cada ErroSelecao e os erros e pilhas mais frequentes, contados numa
+//     única passada com memória fixa (MaisFrequentes), seja qual for o tamanho dos diários.
+//
+//   java ReprodutorSessoes [--especies arquivo] [--top 20] [--capacidade 1000] diario [diario ...]
+//   java ReprodutorSessoes [--especies arquivo] --roteiro roteiro.txt diario
+//
+// --roteiro transforma um roteiro de texto num diário (acrescentado ao arquivo), para montar experimentos
+// à mão. Uma instrução por linha; linhas vazias e comentários (#) são ignorados:
+//   selecionar Zn(s)             clique numa espécie (forma ou ID)
+//   condicoes 0.1 1.0 298.15     liga Nernst: [íon do ânodo], [íon do cátodo], T (K)
+//   padrao                       desliga Nernst
+//   reiniciar                    "Nova Simulação" (fecha a sessão)
+final class ReprodutorSessoes {
+
+    private static final double TOLERANCIA = 1e-9;
+    private static final int MAX_DIVERGENCIAS_LISTADAS = 10;
+    private static final long PASSO_ROTEIRO = 1000; // ms entre instruções de um roteiro
+
+    // --- ESTADO DE UMA SESSÃO (as regras da janela, sem a janela) ---
+    static final class Sessao {
+        private final CatalogoEspecies catalogo;
+        informacoesEspecies primeira;
+        AvaliadorPilhas.ResultadoPilha pilha;
+        ErroSelecao ultimoErro;
+
+        Sessao(CatalogoEspecies catalogo) {
+            this.catalogo = catalogo;
+        }
+
+        // Um clique na tabela; devolve o desfecho no código do diário
+        byte selecionar(informacoesEspecies especie) {
+            ultimoErro = null;
+            if (primeira == null) {
+                primeira = especie;
+                return DiarioSessoes.ACEITA_PRIMEIRA;
+            }
+            ErroSelecao erro = ErroSelecao.validar(primeira, especie);
+            if (erro != null) {
+                ultimoErro = erro;
+                return DiarioSessoes.desfecho(erro);
+            }
+            pilha = AvaliadorPilhas.avaliarSelecao(catalogo, primeira, especie);
+            return DiarioSessoes.PILHA_MONTADA;
+        }
+
+        void reiniciar() {
+            primeira = null;
+            pilha = null;
+            ultimoErro = null;
+        }
+    }
+
+    // --- TOTAIS DA REPRODUÇÃO ---
+    private final CatalogoEspecies catalogo;
+    private final int impressaoCatalogo;
+    private final MaisFrequentes errosFrequentes;
+    private final MaisFrequentes pilhasFrequentes;
+    private final long[] porErro = new long[ErroSelecao.values().length];
+    private final List<String> divergenciasListadas = new ArrayList<>();
+    private long registros = 0;
+    private long sessoes = 0;
+    private long sessoesOutroCatalogo = 0;
+    private long selecoes = 0;
+    private long pilhasMontadas = 0;
+    private long divergencias = 0;
+    private long diariosCortados = 0;
+
+    ReprodutorSessoes(CatalogoEspecies catalogo, int capacidade) {
+        this.catalogo = catalogo;
+        this.impressaoCatalogo = DiarioSessoes.impressao(catalogo);
+        this.errosFrequentes = new MaisFrequentes(capacidade);
+        this.pilhasFrequentes = new MaisFrequentes(capacidade);
+    }
+
+    public static void main(String[] args) {
+        Path especies = null;
+        Path roteiro = null;
+        int top = 20;
+        int capacidade = 1000;
+        List<Path> diarios = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--especies" -> especies = Path.of(args[++i]);
+                    case "--roteiro" -> roteiro = Path.of(args[++i]);
+                    case "--top" -> top = Integer.parseInt(args[++i]);
+                    case "--capacidade" -> capacidade = Integer.parseInt(args[++i]);
+                    default -> diarios.add(Path.of(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            diarios.clear();
+        }
+        if (diarios.isEmpty() || (roteiro != null && diarios.size() != 1) || top <= 0 || capacidade <= 0) {
+            System.err.println("Uso: java ReprodutorSessoes [--especies arquivo] [--top n] [--capacidade n] diario [diario ...]");
+            System.err.println("     java ReprodutorSessoes [--especies arquivo] --roteiro roteiro.txt diario");
+            System.exit(2);
+        }
+
+        try {
+            CatalogoEspecies catalogo = especies != null ? SnapshotEspecies.carregar(especies) : EspeciesPadrao.CATALOGO;
+            if (roteiro != null) {
+                int instrucoes = gravarRoteiro(roteiro, diarios.get(0), catalogo);
+                System.out.println(instrucoes + " instruções gravadas em " + diarios.get(0));
+                return;
+            }
+            ReprodutorSessoes reprodutor = new ReprodutorSessoes(catalogo, capacidade);
+            long inicio = System.nanoTime();
+            for (Path diario : diarios) reprodutor.reproduzir(diario);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            reprodutor.imprimirRelatorio(top, segundos);
+            if (reprodutor.divergencias > 0) System.exit(1);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    // --- REPRODUÇÃO ---
+
+    void reproduzir(Path arquivo) throws IOException {
+        Sessao sessao = new Sessao(catalogo);
+        boolean ativa = false; // sessão aberta e gravada com este catálogo
+        try (DiarioSessoes.Leitor leitor = new DiarioSessoes.Leitor(arquivo)) {
+            while (leitor.proximo()) {
+                registros++;
+                switch (leitor.tipo) {
+                    case DiarioSessoes.INICIO -> {
+                        sessoes++;
+                        sessao.reiniciar();
+                        ativa = leitor.impressao == impressaoCatalogo;
+                        if (!ativa) sessoesOutroCatalogo++;
+                    }
+                    case DiarioSessoes.SELECAO -> {
+                        if (ativa) reproduzirSelecao(sessao, leitor, arquivo);
+                    }
+                    case DiarioSessoes.RESULTADO -> {
+                        if (!ativa) break;
+                        if (sessao.pilha == null) {
+                            divergir(arquivo, leitor, "resultado gravado sem pilha montada");
+                        } else if (!iguais(sessao.pilha.ddp(), leitor.ddp) || sessao.pilha.reacao().eletrons() != leitor.eletrons) {
+                            divergir(arquivo, leitor, String.format(Locale.ROOT, "ddp/n gravados %.6f V/%d, recalculados %.6f V/%d",
+                                    leitor.ddp, leitor.eletrons, sessao.pilha.ddp(), sessao.pilha.reacao().eletrons()));
+                        }
+                    }
+                    case DiarioSessoes.CONDICOES -> {
+                        if (ativa && leitor.nernst) reproduzirCondicoes(sessao, leitor, arquivo);
+                    }
+                    case DiarioSessoes.FIM -> {
+                        sessao.reiniciar();
+                        ativa = false;
+                    }
+                    default -> { }
+                }
+            }
+            if (leitor.isCortado()) diariosCortados++;
+        }
+    }
+
+    private void reproduzirSelecao(Sessao sessao, DiarioSessoes.Leitor leitor, Path arquivo) {
+        selecoes++;
+        informacoesEspecies especie = catalogo.porId(leitor.id);
+        if (especie == null) {
+            divergir(arquivo, leitor, "ID " + leitor.id + " não existe no catálogo");
+            return;
+        }
+        informacoesEspecies primeira = sessao.primeira;
+        byte desfecho = sessao.selecionar(especie);
+        if (sessao.ultimoErro != null) {
+            porErro[sessao.ultimoErro.ordinal()]++;
+            errosFrequentes.adicionar(chave(sessao.ultimoErro.ordinal(), posicao(primeira), posicao(especie)));
+        } else if (desfecho == DiarioSessoes.PILHA_MONTADA) {
+            pilhasMontadas++;
+            pilhasFrequentes.adicionar(chave(0, posicao(sessao.pilha.anodo()), posicao(sessao.pilha.catodo())));
+        }
+        if (desfecho != leitor.desfecho) {
+            divergir(arquivo, leitor, "clique em " + especie.forma() + ": gravado " + nomeDesfecho(leitor.desfecho)
+                    + ", recalculado " + nomeDesfecho(desfecho));
+        }
+    }
+
+    private void reproduzirCondicoes(Sessao sessao, DiarioSessoes.Leitor leitor, Path arquivo) {
+        if (sessao.pilha == null) {
+            divergir(arquivo, leitor, "condições gravadas sem pilha montada");
+            return;
+        }
+        try {
+            double e = Nernst.potencial(sessao.pilha, leitor.concAnodo, leitor.concCatodo, leitor.temperatura);
+            if (!iguais(e, leitor.potencial)) {
+                divergir(arquivo, leitor, String.format(Locale.ROOT, "E(Nernst) gravado %.6f V, recalculado %.6f V", leitor.potencial, e));
+            }
+        } catch (IllegalArgumentException ex) {
+            divergir(arquivo, leitor, "condições inválidas: " + ex.getMessage());
+        }
+    }
+
+    private void divergir(Path arquivo, DiarioSessoes.Leitor leitor, String descricao) {
+        divergencias++;
+        if (divergenciasListadas.size() < MAX_DIVERGENCIAS_LISTADAS) {
+            divergenciasListadas.add(arquivo.getFileName() + " @" + leitor.getPosicao() + ": " + descricao);
+        }
+    }
+
+    private static boolean iguais(double a, double b) {
+        return Math.abs(a - b) <= TOLERANCIA || Double.compare(a, b) == 0;
+    }
+
+    private int posicao(informacoesEspecies especie) {
+        return catalogo.posicaoDaEspecie(especie);
+    }
+
+    // Tipo (2 bits) + duas posições do catálogo (31 bits cada) numa chave só
+    private static long chave(int tipo, int posicaoA, int posicaoB) {
+        return (long) tipo << 62 | (long) posicaoA << 31 | posicaoB;
+    }
+
+    private static int tipoDaChave(long chave) {
+        return (int) (chave >>> 62);
+    }
+
+    private static int primeiraPosicaoDaChave(long chave) {
+        return (int) (chave >>> 31 & 0x7FFFFFFF);
+    }
+
+    private static int segundaPosicaoDaChave(long chave) {
+        return (int) (chave & 0x7FFFFFFF);
+    }
+
+    private static String nomeDesfecho(byte desfecho) {
+        if (desfecho == DiarioSessoes.ACEITA_PRIMEIRA) return "primeira escolha";
+        if (desfecho == DiarioSessoes.PILHA_MONTADA) return "pilha montada";
+        ErroSelecao erro = DiarioSessoes.erroDoDesfecho(desfecho);
+        return erro != null ? erro.name() : "desfecho " + desfecho;
+    }
+
+    // --- RELATÓRIO ---
+
+    private void imprimirRelatorio(int top, double segundos) {
+        System.out.printf(Locale.ROOT, "%d registros, %d sessões em %.3f s (%.0f registros/s)%n",
+                registros, sessoes, segundos, registros / Math.max(segundos, 1e-9));
+        if (sessoesOutroCatalogo > 0) {
+            System.out.println(sessoesOutroCatalogo + " sessões gravadas com outro catálogo foram puladas (use --especies)");
+        }
+        if (diariosCortados > 0) System.out.println(diariosCortados + " diário(s) terminam num registro incompleto");
+        System.out.println(selecoes + " cliques, " + pilhasMontadas + " pilhas montadas");
+        for (ErroSelecao erro : ErroSelecao.values()) {
+            System.out.printf(Locale.ROOT, "  %-17s %d%n", erro.name(), porErro[erro.ordinal()]);
+        }
+
+        System.out.println();
+        System.out.println("Erros mais frequentes (contagem, erro máximo):");
+        for (MaisFrequentes.Item item : errosFrequentes.maiores(top)) {
+            System.out.printf(Locale.ROOT, "  %-17s %-12s + %-12s %8d  (+-%d)%n", ErroSelecao.values()[tipoDaChave(item.chave())].name(),
+                    forma(primeiraPosicaoDaChave(item.chave())), forma(segundaPosicaoDaChave(item.chave())), item.contagem(), item.erroMaximo());
+        }
+        System.out.println();
+        System.out.println("Pilhas mais montadas (ânodo | cátodo):");
+        for (MaisFrequentes.Item item : pilhasFrequentes.maiores(top)) {
+            System.out.printf(Locale.ROOT, "  %-12s | %-12s %8d  (+-%d)%n", forma(primeiraPosicaoDaChave(item.chave())),
+                    forma(segundaPosicaoDaChave(item.chave())), item.contagem(), item.erroMaximo());
+        }
+
+        System.out.println();
+        System.out.println(divergencias == 0 ? "Nenhuma divergência com os resultados gravados."
+                : divergencias + " divergência(s) com os resultados gravados:");
+        for (String divergencia : divergenciasListadas) System.out.println("  " + divergencia);
+    }
+
+    private String forma(int posicao) {
+        return catalogo.getForma(posicao);
+    }
+
+    // --- ROTEIROS ---
+
+    // Executa o roteiro com as regras da janela e acrescenta ao diário o que ela teria gravado
+    static int gravarRoteiro(Path roteiro, Path diario, CatalogoEspecies catalogo) throws IOException {
+        Sessao sessao = new Sessao(catalogo);
+        long instante = 0;
+        int instrucoes = 0;
+        int numeroLinha = 0;
+        try (BufferedReader entrada = Files.newBufferedReader(roteiro, StandardCharsets.UTF_8);
+             DiarioSessoes.Gravador gravador = new DiarioSessoes.Gravador(diario, catalogo)) {
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                numeroLinha++;
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) continue;
+                String[] partes = linha.split("\\s+");
+                instante += PASSO_ROTEIRO;
+                instrucoes++;
+                switch (partes[0]) {
+                    case "selecionar" -> {
+                        exigirArgumentos(partes, 2, numeroLinha);
+                        informacoesEspecies especie = resolver(catalogo, partes[1]);
+                        if (especie == null) throw new IllegalArgumentException("Linha " + numeroLinha + ": espécie desconhecida: " + partes[1]);
+                        if (sessao.pilha != null) throw new IllegalArgumentException("Linha " + numeroLinha + ": pilha já montada, use reiniciar");
+                        byte desfecho = sessao.selecionar(especie);
+                        gravador.selecao(instante, catalogo.getId(catalogo.posicaoDaEspecie(especie)), desfecho);
+                        if (desfecho == DiarioSessoes.PILHA_MONTADA) {
+                            gravador.resultado(instante, sessao.pilha.ddp(), sessao.pilha.reacao().eletrons());
+                        }
+                    }
+                    case "condicoes" -> {
+                        exigirArgumentos(partes, 4, numeroLinha);
+                        if (sessao.pilha == null) throw new IllegalArgumentException("Linha " + numeroLinha + ": nenhuma pilha montada");
+                        double concAnodo = Double.parseDouble(partes[1]);
+                        double concCatodo = Double.parseDouble(partes[2]);
+                        double temperatura = Double.parseDouble(partes[3]);
+                        double e = Nernst.potencial(sessao.pilha, concAnodo, concCatodo, temperatura);
+                        gravador.condicoes(instante, true, concAnodo, concCatodo, temperatura, e);
+                    }
+                    case "padrao" -> {
+                        if (sessao.pilha == null) throw new IllegalArgumentException("Linha " + numeroLinha + ": nenhuma pilha montada");
+                        gravador.condicoes(instante, false, 1, 1, Nernst.TEMPERATURA_PADRAO, sessao.pilha.ddp());
+                    }
+                    case "reiniciar" -> {
+                        gravador.fimSessao(instante);
+                        sessao.reiniciar();
+                    }
+                    default -> throw new IllegalArgumentException("Linha " + numeroLinha + ": instrução desconhecida: " + partes[0]);
+                }
+            }
+            gravador.fimSessao(instante);
+        }
+        return instrucoes;
+    }
+
+    private static void exigirArgumentos(String[] partes, int quantidade, int numeroLinha) {
+        if (partes.length != quantidade) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + ": '" + partes[0] + "' espera " + (quantidade - 1) + " valor(es)");
+        }
+    }
+
+    // Forma ("Zn(s)") ou ID ("7"), como no ServidorPilhas. Forma em mais de um par: só pelo ID
+    private static informacoesEspecies resolver(CatalogoEspecies catalogo, String especie) {
+        if (!especie.isEmpty() && especie.length() <= 9 && especie.chars().allMatch(Character::isDigit)) {
+            return catalogo.porId(Integer.parseInt(especie));
+        }
+        int[] posicoes = catalogo.posicoesDaForma(especie);
+        if (posicoes.length > 1) {
+            throw new IllegalArgumentException(especie + " está em mais de um par (IDs "
+                    + Arrays.toString(catalogo.idsPorForma(especie)) + "): use o ID");
+        }
+        return posicoes.length == 0 ? null : catalogo.get(posicoes[0]);
+    }
+}
@@ -0,0 +1,276 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// --- MODO TEXTO E SERVIDOR (SEM SWING) ---
+// Responde "qual pilha essas duas espécies formam?" sem abrir a janela nem carregar o AWT.
+//
+//   java ServidorPilhas [arquivo]               linhas pela entrada/saída padrão
+//   java ServidorPilhas --http [porta] [arquivo] GET http://127.0.0.1:porta/pilha?a=Zn(s)&b=Cu2+(aq)
+//
+// Cada espécie pode ser dada pela forma ("Zn(s)") ou pelo ID da tabela ("7").
+// Protocolo de linhas (campos separados por TAB):
+//   entrada:  Zn(s) Cu2+(aq)         (sem TAB na linha, as duas espécies podem vir separadas por espaço)
+//   saída:    OK    Zn(s)  Cu(s)  Zn(s) + Cu2+(aq) -> Zn2+(aq) + Cu(s)  1.10  2
+//             (ânodo, cátodo, equação balanceada, ddp em V, n de elétrons trocados)
+//             No lugar da equação vem NAO_BALANCEADA quando as formas dos pares não fecham em massa
+//             (no JSON: "equacao", "oxidacao" e "reducao" null e "balanceada": false).
+//             ERRO  MESMO_ELEMENTO  Mesmo elemento químico (Zn). Escolha metais diferentes.
+// Os erros são os mesmos da janela (ErroSelecao), mais ESPECIE_DESCONHECIDA, ESPECIE_AMBIGUA e LINHA_INVALIDA.
+// Uma forma que está em mais de um par (Fe2+ em Fe3+/Fe2+ e Fe2+/Fe) vale pela metade que forma pilha com
+// a outra espécie; se mais de uma formar, a resposta é ESPECIE_AMBIGUA e é preciso usar o ID.
+final class ServidorPilhas {
+
+    static final int PORTA_PADRAO = 8080;
+    private static final int FILA_CONEXOES = 1024;
+
+    // Resposta de uma consulta: a pilha, ou o código e a mensagem do erro
+    record Resposta(AvaliadorPilhas.ResultadoPilha pilha, String erro, String mensagem) {
+        static Resposta falha(String erro, String mensagem) {
+            return new Resposta(null, erro, mensagem);
+        }
+    }
+
+    private final CatalogoEspecies catalogo;
+
+    ServidorPilhas(CatalogoEspecies catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    public static void main(String[] args) {
+        boolean http = false;
+        int porta = PORTA_PADRAO;
+        Path arquivo = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--http")) {
+                http = true;
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) porta = Integer.parseInt(args[++i]);
+            } else {
+                arquivo = Path.of(args[i]);
+            }
+        }
+
+        CatalogoEspecies catalogo = EspeciesPadrao.CATALOGO;
+        if (arquivo != null) {
+            try {
+                catalogo = SnapshotEspecies.carregar(arquivo);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Não foi possível ler " + arquivo + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        ServidorPilhas servidor = new ServidorPilhas(catalogo);
+        try {
+            if (http) {
+                HttpServer s = servidor.iniciarHttp(porta);
+                System.err.println("Servindo " + catalogo.tamanho() + " espécies em http://127.0.0.1:" + s.getAddress().getPort() + "/pilha");
+            } else {
+                servidor.atenderLinhas(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // --- CONSULTA (mesmas regras de processarSelecao + finalizarSimulacao) ---
+
+    Resposta consultar(String a, String b) {
+        int[] candidatasA = resolver(a);
+        if (candidatasA.length == 0) return Resposta.falha("ESPECIE_DESCONHECIDA", "Espécie desconhecida: " + a);
+        int[] candidatasB = resolver(b);
+        if (candidatasB.length == 0) return Resposta.falha("ESPECIE_DESCONHECIDA", "Espécie desconhecida: " + b);
+
+        informacoesEspecies primeira = null;
+        informacoesEspecies segunda = null;
+        int validas = 0;
+        ErroSelecao erro = null;
+        informacoesEspecies primeiraDoErro = null;
+        for (int posicaoA : candidatasA) {
+            for (int posicaoB : candidatasB) {
+                informacoesEspecies x = catalogo.get(posicaoA);
+                informacoesEspecies y = catalogo.get(posicaoB);
+                ErroSelecao erroPar = ErroSelecao.validar(x, y);
+                if (erroPar == null) {
+                    if (validas++ == 0) {
+                        primeira = x;
+                        segunda = y;
+                    }
+                } else if (erro == null || erroPar.ordinal() < erro.ordinal()) { // o mais específico
+                    erro = erroPar;
+                    primeiraDoErro = x;
+                }
+            }
+        }
+        if (validas == 0) return Resposta.falha(erro.name(), erro.mensagem(primeiraDoErro));
+        if (validas > 1) {
+            String forma = candidatasA.length > 1 ? a : b;
+            return Resposta.falha("ESPECIE_AMBIGUA", forma + " está em mais de um par (IDs "
+                    + idsComoTexto(candidatasA.length > 1 ? candidatasA : candidatasB) + "): use o ID");
+        }
+        return new Resposta(AvaliadorPilhas.avaliarSelecao(catalogo, primeira, segunda), null, null);
+    }
+
+    // Forma ("Zn(s)") ou ID ("7"); uma forma pode estar em mais de um par, então vêm todas as posições
+    private int[] resolver(String especie) {
+        if (!especie.isEmpty() && especie.length() <= 9 && especie.chars().allMatch(Character::isDigit)) {
+            int posicao = catalogo.posicaoDoId(Integer.parseInt(especie));
+            return posicao < 0 ? new int[0] : new int[]{posicao};
+        }
+        return catalogo.posicoesDaForma(especie);
+    }
+
+    private String idsComoTexto(int[] posicoes) {
+        StringBuilder sb = new StringBuilder();
+        for (int posicao : posicoes) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(catalogo.getId(posicao));
+        }
+        return sb.toString();
+    }
+
+    // --- PROTOCOLO DE LINHAS ---
+
+    // Uma resposta por linha, até o fim da entrada. Linhas vazias e comentários (#) são ignorados.
+    // A saída só é descarregada quando não há mais entrada esperando, então lotes grandes vão de uma vez.
+    void atenderLinhas(BufferedReader entrada, Writer saida) throws IOException {
+        String linha;
+        while ((linha = entrada.readLine()) != null) {
+            linha = linha.strip();
+            if (!linha.isEmpty() && !linha.startsWith("#")) {
+                // TAB separa os campos ("SO4 2-(aq)" tem espaço dentro); sem TAB na linha, vale qualquer espaço
+                String[] especies = linha.indexOf('\t') >= 0 ? linha.split("\t+") : linha.split("\\s+");
+                Resposta resposta = especies.length == 2
+                        ? consultar(especies[0].strip(), especies[1].strip())
+                        : Resposta.falha("LINHA_INVALIDA", "Esperadas duas espécies separadas por TAB (ou por espaço, se nenhuma tiver espaço)");
+                saida.write(formatarLinha(resposta));
+                saida.write('\n');
+            }
+            if (!entrada.ready()) saida.flush();
+        }
+        saida.flush();
+    }
+
+    static String formatarLinha(Resposta resposta) {
+        if (resposta.pilha() == null) return "ERRO\t" + resposta.erro() + "\t" + resposta.mensagem();
+        AvaliadorPilhas.ResultadoPilha pilha = resposta.pilha();
+        String equacao = pilha.reacao().balanceada() ? pilha.equacao() : "NAO_BALANCEADA";
+        return "OK\t" + pilha.anodo().forma() + "\t" + pilha.catodo().forma() + "\t" + equacao
+                + "\t" + String.format(Locale.ROOT, "%.2f", pilha.ddp()) + "\t" + pilha.reacao().eletrons();
+    }
+
+    // --- HTTP ---
+
+    // Só escuta no endereço local. Uma thread virtual por requisição quando a JVM tiver (Java 21+).
+    HttpServer iniciarHttp(int porta) throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), FILA_CONEXOES);
+        ExecutorService executor = criarExecutor();
+        servidor.setExecutor(executor);
+        servidor.createContext("/pilha", this::atenderHttp);
+        servidor.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.stop(0);
+            executor.shutdown();
+        }, "parar-servidor"));
+        return servidor;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() só existe a partir do Java 21; o código compila no 17
+    // e procura o método em tempo de execução. Sem ele, um grupo fixo de threads comuns atende tudo.
+    static ExecutorService criarExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2, tarefa -> {
+                Thread t = new Thread(tarefa, "servidor-pilhas");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private void atenderHttp(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!troca.getRequestMethod().equals("GET")) {
+                responder(troca, 405, "{\"erro\":\"METODO_NAO_PERMITIDO\"}");
+                return;
+            }
+            String a = null;
+            String b = null;
+            String consulta = troca.getRequestURI().getRawQuery();
+            if (consulta != null) {
+                for (String parametro : consulta.split("&")) {
+                    int igual = parametro.indexOf('=');
+                    if (igual < 0) continue;
+                    String nome = parametro.substring(0, igual);
+                    // '+' literal (como em Zn2+) continua sendo '+', e não vira espaço
+                    String valor = URLDecoder.decode(parametro.substring(igual + 1).replace("+", "%2B"), StandardCharsets.UTF_8);
+                    if (nome.equals("a")) a = valor;
+                    else if (nome.equals("b")) b = valor;
+                }
+            }
+            if (a == null || b == null) {
+                responder(troca, 400, "{\"erro\":\"LINHA_INVALIDA\",\"mensagem\":\"Informe as espécies nos parâmetros a e b\"}");
+                return;
+            }
+
+            Resposta resposta = consultar(a, b);
+            if (resposta.pilha() != null) {
+                responder(troca, 200, formatarJson(resposta));
+            } else {
+                responder(troca, resposta.erro().equals("ESPECIE_DESCONHECIDA") ? 404 : 422, formatarJson(resposta));
+            }
+        }
+    }
+
+    static String formatarJson(Resposta resposta) {
+        if (resposta.pilha() == null) {
+            return "{\"erro\":" + json(resposta.erro()) + ",\"mensagem\":" + json(resposta.mensagem()) + "}";
+        }
+        AvaliadorPilhas.ResultadoPilha pilha = resposta.pilha();
+        boolean balanceada = pilha.reacao().balanceada();
+        return "{\"anodo\":" + json(pilha.anodo().forma()) + ",\"catodo\":" + json(pilha.catodo().forma())
+                + ",\"equacao\":" + (balanceada ? json(pilha.equacao()) : "null")
+                + ",\"ddp\":" + String.format(Locale.ROOT, "%.2f", pilha.ddp())
+                + ",\"oxidacao\":" + (balanceada ? json(pilha.reacao().semiOxidacao()) : "null")
+                + ",\"reducao\":" + (balanceada ? json(pilha.reacao().semiReducao()) : "null")
+                + ",\"balanceada\":" + balanceada + ",\"n\":" + pilha.reacao().eletrons()
+                + ",\"deltaG\":" + String.format(Locale.ROOT, "%.1f", pilha.energiaLivre() / 1000) + "}";
+    }
+
+    private static String json(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length() + 2).append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import javax.swing.SwingUtilities;
+
+// --- SIMULAÇÃO DA DESCARGA DE PILHAS ---
+// Cada pilha liga o ânodo ao cátodo por uma resistência (a lâmpada). A cada passo fixo de tempo:
+//     E = Nernst(concentrações atuais),  I = E / (R interna + R carga),  elétrons = I dt / F
+// o ânodo perde metal e ganha íons, o cátodo perde íons e ganha metal, até um dos reagentes acabar.
+// O estado de todas as pilhas fica em vetores (uma posição por pilha), então dá para comparar muitas
+// ao mesmo tempo. A simulação roda numa thread própria e entrega fotos imutáveis para a tela.
+final class SimulacaoDescarga {
+
+    // Massas molares (g/mol) dos metais da tabela embutida; outros usam MASSA_MOLAR_PADRAO
+    private static final Map<String, Double> MASSAS_MOLARES = Map.of(
+            "Li", 6.94, "Mg", 24.305, "Al", 26.982, "Zn", 65.38, "Fe", 55.845,
+            "Ni", 58.693, "Pb", 207.2, "Cu", 63.546, "Ag", 107.868, "Au", 196.967);
+    private static final double MASSA_MOLAR_PADRAO = 50.0;
+
+    static final double PASSO = 1.0;                  // segundos simulados por passo
+    private static final double QUADRO = 1.0 / 60;    // segundos reais entre fotos publicadas
+    private static final int MAX_PASSOS_POR_QUADRO = 200_000;
+    private static final int LIMIAR_PARALELO = 4096;  // pilhas
+    private static final double POTENCIAL_MINIMO = 0.01;
+    private static final double QUANTIDADE_MINIMA = 1e-9; // mol
+
+    // Condições iniciais de uma pilha
+    record Parametros(double massaEletrodo, double concIonAnodo, double concIonCatodo, double volume,
+                      double resistenciaInterna, double resistenciaCarga, double temperatura) {
+        static final Parametros PADRAO = new Parametros(10.0, 1.0, 1.0, 0.1, 2.0, 10.0, Nernst.TEMPERATURA_PADRAO);
+    }
+
+    // Foto de uma pilha num instante (massas em g, concentrações em mol/L, carga em C)
+    record EstadoCelula(double potencial, double corrente, double massaAnodo, double massaCatodo,
+                        double concIonAnodo, double concIonCatodo, double carga, boolean descarregada) {}
+
+    // Foto de todas as pilhas; nunca muda depois de publicada
+    record Estado(double tempo, List<EstadoCelula> celulas, boolean terminou) {}
+
+    // --- ESTADO (uma posição por pilha) ---
+    private int quantidade = 0;
+    private double[] eZero = new double[4];
+    private int[] zAnodo = new int[4];
+    private int[] zCatodo = new int[4];
+    private double[] expoenteAnodo = new double[4];   // da equação balanceada (ver Nernst)
+    private double[] expoenteCatodo = new double[4];
+    private double[] molMetalAnodo = new double[4];
+    private double[] molMetalCatodo = new double[4];
+    private double[] molIonAnodo = new double[4];
+    private double[] molIonCatodo = new double[4];
+    private double[] massaMolarAnodo = new double[4];
+    private double[] massaMolarCatodo = new double[4];
+    private double[] volume = new double[4];
+    private double[] resistencia = new double[4];
+    private double[] temperatura = new double[4];
+    private double[] potencial = new double[4];
+    private double[] corrente = new double[4];
+    private double[] carga = new double[4];
+    private boolean[] descarregada = new boolean[4];
+    private int vivas = 0;
+    private double tempo = 0;
+
+    // --- THREAD ---
+    private final AtomicReference<Estado> ultimo = new AtomicReference<>();
+    private final AtomicBoolean entregaPendente = new AtomicBoolean(false);
+    private volatile double velocidade = 1.0;   // segundos simulados por segundo real (infinito = máxima)
+    private volatile boolean rodando = false;
+    private Thread thread;
+
+    // Adiciona uma pilha (antes de iniciar) e devolve a posição dela
+    synchronized int adicionar(AvaliadorPilhas.ResultadoPilha pilha, Parametros p) {
+        if (thread != null) throw new IllegalStateException("A simulação já começou");
+        if (quantidade == eZero.length) crescer(quantidade * 2);
+        int i = quantidade++;
+        informacoesEspecies anodo = pilha.anodo();
+        informacoesEspecies catodo = pilha.catodo();
+        eZero[i] = pilha.ddp();
+        zAnodo[i] = anodo.eletrons();
+        zCatodo[i] = catodo.eletrons();
+        expoenteAnodo[i] = pilha.reacao().expoenteIonAnodo();
+        expoenteCatodo[i] = pilha.reacao().expoenteIonCatodo();
+        massaMolarAnodo[i] = MASSAS_MOLARES.getOrDefault(anodo.getSimbolo(), MASSA_MOLAR_PADRAO);
+        massaMolarCatodo[i] = MASSAS_MOLARES.getOrDefault(catodo.getSimbolo(), MASSA_MOLAR_PADRAO);
+        molMetalAnodo[i] = p.massaEletrodo() / massaMolarAnodo[i];
+        molMetalCatodo[i] = p.massaEletrodo() / massaMolarCatodo[i];
+        molIonAnodo[i] = p.concIonAnodo() * p.volume();
+        molIonCatodo[i] = p.concIonCatodo() * p.volume();
+        volume[i] = p.volume();
+        resistencia[i] = p.resistenciaInterna() + p.resistenciaCarga();
+        temperatura[i] = p.temperatura();
+        calcularCorrente(i);
+        vivas++;
+        return i;
+    }
+
+    private void crescer(int capacidade) {
+        eZero = Arrays.copyOf(eZero, capacidade);
+        zAnodo = Arrays.copyOf(zAnodo, capacidade);
+        zCatodo = Arrays.copyOf(zCatodo, capacidade);
+        expoenteAnodo = Arrays.copyOf(expoenteAnodo, capacidade);
+        expoenteCatodo = Arrays.copyOf(expoenteCatodo, capacidade);
+        molMetalAnodo = Arrays.copyOf(molMetalAnodo, capacidade);
+        molMetalCatodo = Arrays.copyOf(molMetalCatodo, capacidade);
+        molIonAnodo = Arrays.copyOf(molIonAnodo, capacidade);
+        molIonCatodo = Arrays.copyOf(molIonCatodo, capacidade);
+        massaMolarAnodo = Arrays.copyOf(massaMolarAnodo, capacidade);
+        massaMolarCatodo = Arrays.copyOf(massaMolarCatodo, capacidade);
+        volume = Arrays.copyOf(volume, capacidade);
+        resistencia = Arrays.copyOf(resistencia, capacidade);
+        temperatura = Arrays.copyOf(temperatura, capacidade);
+        potencial = Arrays.copyOf(potencial, capacidade);
+        corrente = Arrays.copyOf(corrente, capacidade);
+        carga = Arrays.copyOf(carga, capacidade);
+        descarregada = Arrays.copyOf(descarregada, capacidade);
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    // 1 = tempo real; Double.POSITIVE_INFINITY = o mais rápido possível
+    void setVelocidade(double velocidade) {
+        if (!(velocidade > 0)) throw new IllegalArgumentException("Velocidade deve ser positiva");
+        this.velocidade = velocidade;
+    }
+
+    Estado getEstado() {
+        return ultimo.get();
+    }
+
+    // --- PASSO FIXO ---
+
+    private void calcularCorrente(int i) {
+        double e = Nernst.potencial(eZero[i], expoenteAnodo[i], expoenteCatodo[i],
+                Math.max(molIonAnodo[i], QUANTIDADE_MINIMA) / volume[i],
+                Math.max(molIonCatodo[i], QUANTIDADE_MINIMA) / volume[i], temperatura[i]);
+        potencial[i] = Math.max(0, e);
+        corrente[i] = potencial[i] / resistencia[i];
+    }
+
+    private void passoCelula(int i, double dt) {
+        if (descarregada[i]) return;
+        calcularCorrente(i);
+        double molEletrons = corrente[i] * dt / Nernst.F;
+
+        // Não deixa consumir mais do que existe de metal no ânodo ou de íons no cátodo
+        double limite = Math.min(molMetalAnodo[i] * zAnodo[i], molIonCatodo[i] * zCatodo[i]);
+        if (molEletrons >= limite) molEletrons = limite;
+
+        molMetalAnodo[i] -= molEletrons / zAnodo[i];
+        molIonAnodo[i] += molEletrons / zAnodo[i];
+        molIonCatodo[i] -= molEletrons / zCatodo[i];
+        molMetalCatodo[i] += molEletrons / zCatodo[i];
+        carga[i] += molEletrons * Nernst.F;
+
+        if (molMetalAnodo[i] <= QUANTIDADE_MINIMA || molIonCatodo[i] <= QUANTIDADE_MINIMA || potencial[i] <= POTENCIAL_MINIMO) {
+            descarregada[i] = true;
+            potencial[i] = 0;
+            corrente[i] = 0;
+        }
+    }
+
+    // Avança todas as pilhas um passo; em lotes grandes as pilhas são divididas entre as threads
+    void passo() {
+        if (quantidade >= LIMIAR_PARALELO) {
+            IntStream.range(0, quantidade).parallel().forEach(i -> passoCelula(i, PASSO));
+        } else {
+            for (int i = 0; i < quantidade; i++) passoCelula(i, PASSO);
+        }
+        int restantes = 0;
+        for (int i = 0; i < quantidade; i++) if (!descarregada[i]) restantes++;
+        vivas = restantes;
+        tempo += PASSO;
+    }
+
+    boolean terminou() {
+        return vivas == 0;
+    }
+
+    // Roda sem thread nem pausa até todas descarregarem (ou até o tempo máximo simulado)
+    Estado simularAte(double tempoMaximo) {
+        while (!terminou() && tempo < tempoMaximo) passo();
+        return fotografar();
+    }
+
+    private Estado fotografar() {
+        List<EstadoCelula> celulas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            celulas.add(new EstadoCelula(potencial[i], corrente[i],
+                    molMetalAnodo[i] * massaMolarAnodo[i], molMetalCatodo[i] * massaMolarCatodo[i],
+                    molIonAnodo[i] / volume[i], molIonCatodo[i] / volume[i], carga[i], descarregada[i]));
+        }
+        return new Estado(tempo, List.copyOf(celulas), terminou());
+    }
+
+    // --- THREAD DA SIMULAÇÃO ---
+
+    // O ouvinte recebe as fotos na thread da interface (EDT), no máximo uma por vez:
+    // se a tela estiver atrasada, fotos intermediárias são puladas e a simulação nunca espera.
+    synchronized void iniciar(Consumer<Estado> ouvinte) {
+        if (thread != null) throw new IllegalStateException("A simulação já começou");
+        rodando = true;
+        publicar(ouvinte);
+        thread = new Thread(() -> laco(ouvinte), "simulacao-descarga");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void parar() {
+        rodando = false;
+        Thread t = thread;
+        if (t != null) t.interrupt();
+    }
+
+    private void laco(Consumer<Estado> ouvinte) {
+        long anterior = System.nanoTime();
+        double acumulado = 0;
+        long quadroNanos = (long) (QUADRO * 1e9);
+        while (rodando && !terminou()) {
+            long agora = System.nanoTime();
+            double v = velocidade;
+            int passos = 0;
+            if (Double.isInfinite(v)) {
+                // Velocidade máxima: tantos passos quanto couberem num quadro
+                long limite = agora + quadroNanos;
+                while (!terminou() && passos < MAX_PASSOS_POR_QUADRO) {
+                    passo();
+                    passos++;
+                    if ((passos & 255) == 0 && System.nanoTime() >= limite) break;
+                }
+            } else {
+                acumulado += (agora - anterior) / 1e9 * v;
+                while (acumulado >= PASSO && passos < MAX_PASSOS_POR_QUADRO && !terminou()) {
+                    passo();
+                    acumulado -= PASSO;
+                    passos++;
+                }
+                // Se não deu para acompanhar, descarta o atraso em vez de acumular para sempre
+                if (passos == MAX_PASSOS_POR_QUADRO) acumulado = 0;
+            }
+            anterior = agora;
+            publicar(ouvinte);
+
+            long espera = quadroNanos - (System.nanoTime() - agora);
+            if (espera > 0 && !Double.isInfinite(v)) {
+                try {
+                    Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+        publicar(ouvinte);
+    }
+
+    private void publicar(Consumer<Estado> ouvinte) {
+        ultimo.set(fotografar());
+        if (ouvinte != null && entregaPendente.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                entregaPendente.set(false);
+                ouvinte.accept(ultimo.get());
+            });
+        }
+    }
+}
@@ -1,65 +1,95 @@
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-
-// --- 1. ESTRUTURA DE DADOS ---
-record informacoesEspecies(String forma, String tipo, String formaOposta, double potencial) {
-    // Método auxiliar para pegar só o símbolo (ex: "Zn(s)" -> "Zn")
-    public String getSimbolo() {
-        return forma.replaceAll("\\(s\\)|\\(aq\\)|\\d+\\+|\\+", "");
-    }
-    
-    // Método auxiliar para pegar a carga do íon (ex: "Zn2+(aq)" -> "Zn2+")
-    public String getSimboloIon() {
-        return formaOposta.replaceAll("\\(aq\\)|\\(s\\)", "");
-    }
-}
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 public class SimuladorSwing extends JFrame {
 
-    // --- BANCO DE DADOS ---
-    private static final Map<Integer, informacoesEspecies> bancoDeEspecies = new HashMap<>();
-
-    static {
-        bancoDeEspecies.put(1, new informacoesEspecies("Li(s)", "reduzida", "Li+(aq)", -3.04));
-        bancoDeEspecies.put(2, new informacoesEspecies("Li+(aq)", "oxidada", "Li(s)", -3.04));
-        bancoDeEspecies.put(3, new informacoesEspecies("Mg(s)", "reduzida", "Mg2+(aq)", -2.37));
-        bancoDeEspecies.put(4, new informacoesEspecies("Mg2+(aq)", "oxidada", "Mg(s)", -2.37));
-        bancoDeEspecies.put(5, new informacoesEspecies("Al(s)", "reduzida", "Al3+(aq)", -1.66));
-        bancoDeEspecies.put(6, new informacoesEspecies("Al3+(aq)", "oxidada", "Al(s)", -1.66));
-        bancoDeEspecies.put(7, new informacoesEspecies("Zn(s)", "reduzida", "Zn2+(aq)", -0.76));
-        bancoDeEspecies.put(8, new informacoesEspecies("Zn2+(aq)", "oxidada", "Zn(s)", -0.76));
-        bancoDeEspecies.put(9, new informacoesEspecies("Fe(s)", "reduzida", "Fe2+(aq)", -0.44));
-        bancoDeEspecies.put(10, new informacoesEspecies("Fe2+(aq)", "oxidada", "Fe(s)", -0.44));
-        bancoDeEspecies.put(11, new informacoesEspecies("Ni(s)", "reduzida", "Ni2+(aq)", -0.25));
-        bancoDeEspecies.put(12, new informacoesEspecies("Ni2+(aq)", "oxidada", "Ni(s)", -0.25));
-        bancoDeEspecies.put(13, new informacoesEspecies("Pb(s)", "reduzida", "Pb2+(aq)", -0.13));
-        bancoDeEspecies.put(14, new informacoesEspecies("Pb2+(aq)", "oxidada", "Pb(s)", -0.13));
-        bancoDeEspecies.put(15, new informacoesEspecies("Cu(s)", "reduzida", "Cu2+(aq)", +0.34));
-        bancoDeEspecies.put(16, new informacoesEspecies("Cu2+(aq)", "oxidada", "Cu(s)", +0.34));
-        bancoDeEspecies.put(17, new informacoesEspecies("Ag(s)", "reduzida", "Ag+(aq)", +0.80));
-        bancoDeEspecies.put(18, new informacoesEspecies("Ag+(aq)", "oxidada", "Ag(s)", +0.80));
-        bancoDeEspecies.put(19, new informacoesEspecies("Au(s)", "reduzida", "Au3+(aq)", +1.50));
-        bancoDeEspecies.put(20, new informacoesEspecies("Au3+(aq)", "oxidada", "Au(s)", +1.50));
+    // Catálogo embutido (imutável), para uso fora da janela (ex: AvaliadorPilhas)
+    static CatalogoEspecies getCatalogoPadrao() {
+        return EspeciesPadrao.CATALOGO;
     }
 
     // --- COMPONENTES ---
     private JTable tabela;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaEspecies modeloTabela;
+    private JTextField txtBusca;
+    private JComboBox<String> cmbFiltro;
+    private JComboBox<String> cmbOrdem;
     private JLabel lblStatus;
     private JTextArea areaResultado;
     private PainelPilha painelDesenho;
+    private PainelConsultas painelConsultas;
     private JButton btnReiniciar;
+    private JCheckBox chkNernst;
+    private JSpinner spnConcAnodo;
+    private JSpinner spnConcCatodo;
+    private JSpinner spnTemperatura;
+    private JButton btnDescarga;
+    private JComboBox<String> cmbVelocidade;
+    private JButton btnSerie;
+    private JButton btnParalelo;
+    private JButton btnLimparBateria;
+    private JComboBox<String> cmbCelulas;
+    private JButton btnTrocarCelula;
+    private JButton btnRemoverCelula;
+    private JLabel lblBateria;
 
     private informacoesEspecies primeiraEscolha = null;
     private informacoesEspecies segundaEscolha = null;
+    private AvaliadorPilhas.ResultadoPilha pilhaAtual = null;
+
+    // Descarga da pilha atual (null quando parada)
+    private static final String[] VELOCIDADES = {"1x", "60x", "3600x", "Máxima"};
+    private SimulacaoDescarga descarga = null;
+    private SimulacaoDescarga.EstadoCelula estadoDescarga = null;
+
+    // Bateria montada com as pilhas já simuladas: a raiz é uma série de grupos em paralelo
+    private BateriaPilhas bateria = null;
+    private int grupoAtual = -1;
+    // Pilhas da bateria na ordem do cmbCelulas: nó da pilha e nó do grupo em paralelo dela
+    private final List<Integer> celulasBateria = new ArrayList<>();
+    private final List<Integer> gruposBateria = new ArrayList<>();
+    private double tempoDescarga = 0;
+    private double correnteInicial = 0;
+
+    // Métricas exportadas (formato texto do Prometheus) no diretório em que o simulador foi aberto
+    private static final Path ARQUIVO_METRICAS = Path.of("metricas_simulador.prom");
+
+    // Trocado de uma vez só quando um arquivo externo termina de carregar
+    private CatalogoEspecies catalogo = EspeciesPadrao.CATALOGO;
+    private boolean carregando = false;
+
+    // Diário das sessões (null quando não está gravando)
+    private DiarioSessoes.Gravador diario = null;
 
     public SimuladorSwing() {
+        this(null, null);
+    }
+
+    public SimuladorSwing(Path arquivoEspecies) {
+        this(arquivoEspecies, null);
+    }
+
+    // arquivoEspecies: tabela externa (CSV/JSON) lida em segundo plano, ou null para a embutida
+    // arquivoDiario: diário onde as sessões são acrescentadas (ReprodutorSessoes), ou null para não gravar
+    public SimuladorSwing(Path arquivoEspecies, Path arquivoDiario) {
         setTitle("Simulador de Oxirredução (Pilha de Daniell)");
         setSize(1000, 780);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -79,36 +109,53 @@ public class SimuladorSwing extends JFrame {
         JPanel panelEsquerda = new JPanel(new BorderLayout());
         panelEsquerda.setBorder(BorderFactory.createTitledBorder("Tabela de Espécies"));
         
-        String[] colunas = {"ID", "Espécie"};
-        modeloTabela = new DefaultTableModel(colunas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
-
-        Map<Integer, informacoesEspecies> mapOrdenado = new TreeMap<>(bancoDeEspecies);
-        for (Map.Entry<Integer, informacoesEspecies> entry : mapOrdenado.entrySet()) {
-            modeloTabela.addRow(new Object[]{entry.getKey(), entry.getValue().forma()});
-        }
+        // O modelo lê direto do catálogo; busca, filtro e ordem são aplicados fora da EDT
+        modeloTabela = new ModeloTabelaEspecies(catalogo);
 
         tabela = new JTable(modeloTabela);
         tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         tabela.setFont(new Font("SansSerif", Font.PLAIN, 14));
         tabela.setRowHeight(25);
+        tabela.getColumnModel().getColumn(0).setPreferredWidth(40);
+        tabela.getColumnModel().getColumn(1).setPreferredWidth(120);
+        tabela.getColumnModel().getColumn(2).setPreferredWidth(60);
+
+        txtBusca = new JTextField();
+        txtBusca.setToolTipText("Buscar espécie (ex: Zn, 2+, aq)");
+        txtBusca.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { aplicarConsultaTabela(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { aplicarConsultaTabela(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { aplicarConsultaTabela(); }
+        });
+        cmbFiltro = new JComboBox<>(new String[]{"Todas", "Reduzidas", "Oxidadas"});
+        cmbFiltro.addActionListener(e -> aplicarConsultaTabela());
+        cmbOrdem = new JComboBox<>(new String[]{"Por ID", "Por potencial"});
+        cmbOrdem.addActionListener(e -> aplicarConsultaTabela());
+        JPanel panelBusca = new JPanel(new GridLayout(2, 1, 0, 2));
+        panelBusca.add(txtBusca);
+        JPanel panelFiltros = new JPanel(new GridLayout(1, 2, 2, 0));
+        panelFiltros.add(cmbFiltro);
+        panelFiltros.add(cmbOrdem);
+        panelBusca.add(panelFiltros);
+        panelEsquerda.add(panelBusca, BorderLayout.NORTH);
         
         tabela.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                if (primeiraEscolha != null && segundaEscolha != null) return;
+                if (carregando || (primeiraEscolha != null && segundaEscolha != null)) return;
                 int linha = tabela.getSelectedRow();
                 if (linha != -1) {
-                    int id = (int) tabela.getValueAt(linha, 0);
+                    int id = modeloTabela.getId(linha);
                     processarSelecao(id);
                 }
             }
         });
 
         JScrollPane scrollTabela = new JScrollPane(tabela);
-        scrollTabela.setPreferredSize(new Dimension(200, 0));
+        scrollTabela.setPreferredSize(new Dimension(240, 0));
         panelEsquerda.add(scrollTabela, BorderLayout.CENTER);
         
         btnReiniciar = new JButton("Nova Simulação");
@@ -116,8 +163,13 @@ public class SimuladorSwing extends JFrame {
         btnReiniciar.setEnabled(false);
         btnReiniciar.addActionListener(e -> reiniciarSimulacao());
         panelEsquerda.add(btnReiniciar, BorderLayout.SOUTH);
-        
-        add(panelEsquerda, BorderLayout.WEST);
+
+        // Consultas de melhores pares, ao lado da tabela
+        painelConsultas = new PainelConsultas(catalogo, this::montarPilha);
+        JPanel panelOeste = new JPanel(new BorderLayout());
+        panelOeste.add(panelEsquerda, BorderLayout.WEST);
+        panelOeste.add(painelConsultas, BorderLayout.CENTER);
+        add(panelOeste, BorderLayout.WEST);
 
         // 3. Centro (Desenho)
         painelDesenho = new PainelPilha();
@@ -141,6 +193,72 @@ public class SimuladorSwing extends JFrame {
         
         panelSul.add(scrollRes, BorderLayout.CENTER);
 
+        // Condições não padrão (equação de Nernst)
+        JPanel panelCondicoes = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 2));
+        chkNernst = new JCheckBox("Condições não padrão (Nernst)");
+        spnConcAnodo = new JSpinner(new SpinnerNumberModel(1.0, 0.0001, 10.0, 0.1));
+        spnConcCatodo = new JSpinner(new SpinnerNumberModel(1.0, 0.0001, 10.0, 0.1));
+        spnTemperatura = new JSpinner(new SpinnerNumberModel(Nernst.TEMPERATURA_PADRAO, 273.15, 373.15, 1.0));
+        chkNernst.addActionListener(e -> alterarCondicoes());
+        spnConcAnodo.addChangeListener(e -> alterarCondicoes());
+        spnConcCatodo.addChangeListener(e -> alterarCondicoes());
+        spnTemperatura.addChangeListener(e -> alterarCondicoes());
+        panelCondicoes.add(chkNernst);
+        panelCondicoes.add(new JLabel("[íon do ânodo] (mol/L):"));
+        panelCondicoes.add(spnConcAnodo);
+        panelCondicoes.add(new JLabel("[íon do cátodo] (mol/L):"));
+        panelCondicoes.add(spnConcCatodo);
+        panelCondicoes.add(new JLabel("T (K):"));
+        panelCondicoes.add(spnTemperatura);
+
+        btnDescarga = new JButton("Descarregar Pilha");
+        btnDescarga.setEnabled(false);
+        btnDescarga.addActionListener(e -> alternarDescarga());
+        cmbVelocidade = new JComboBox<>(VELOCIDADES);
+        cmbVelocidade.setSelectedIndex(2);
+        cmbVelocidade.addActionListener(e -> {
+            if (descarga != null) descarga.setVelocidade(velocidadeEscolhida());
+        });
+        panelCondicoes.add(btnDescarga);
+        panelCondicoes.add(cmbVelocidade);
+
+        // Bateria (pilhas em série e paralelo), numa segunda linha
+        btnSerie = new JButton("+ Série");
+        btnSerie.setToolTipText("Liga a pilha atual em série com a bateria");
+        btnSerie.setEnabled(false);
+        btnSerie.addActionListener(e -> adicionarNaBateria(true));
+        btnParalelo = new JButton("+ Paralelo");
+        btnParalelo.setToolTipText("Liga a pilha atual em paralelo com o último grupo da bateria");
+        btnParalelo.setEnabled(false);
+        btnParalelo.addActionListener(e -> adicionarNaBateria(false));
+        btnLimparBateria = new JButton("Limpar Bateria");
+        btnLimparBateria.setEnabled(false);
+        btnLimparBateria.addActionListener(e -> limparBateria());
+        cmbCelulas = new JComboBox<>();
+        cmbCelulas.setEnabled(false);
+        btnTrocarCelula = new JButton("Trocar");
+        btnTrocarCelula.setToolTipText("Troca a pilha escolhida da bateria pela pilha atual, nas condições atuais");
+        btnTrocarCelula.setEnabled(false);
+        btnTrocarCelula.addActionListener(e -> trocarCelula());
+        btnRemoverCelula = new JButton("Remover");
+        btnRemoverCelula.setToolTipText("Tira a pilha escolhida da bateria");
+        btnRemoverCelula.setEnabled(false);
+        btnRemoverCelula.addActionListener(e -> removerCelula());
+        lblBateria = new JLabel();
+        JPanel panelBateria = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 2));
+        panelBateria.add(btnSerie);
+        panelBateria.add(btnParalelo);
+        panelBateria.add(btnLimparBateria);
+        panelBateria.add(cmbCelulas);
+        panelBateria.add(btnTrocarCelula);
+        panelBateria.add(btnRemoverCelula);
+        panelBateria.add(lblBateria);
+
+        JPanel panelControles = new JPanel(new GridLayout(2, 1));
+        panelControles.add(panelCondicoes);
+        panelControles.add(panelBateria);
+        panelSul.add(panelControles, BorderLayout.NORTH);
+
         // Label de Créditos
         JLabel lblCreditos = new JLabel("Desenvolvido por: Laura Radünz Pedro, Julia Miranda Lima e Emanuella Bedim Zaniolo");
         lblCreditos.setHorizontalAlignment(SwingConstants.RIGHT);
@@ -149,162 +267,798 @@ public class SimuladorSwing extends JFrame {
         panelSul.add(lblCreditos, BorderLayout.SOUTH);
 
         add(panelSul, BorderLayout.SOUTH);
+
+        // Métricas de desempenho: F3 mostra/esconde a sobreposição, F4 exporta para ARQUIVO_METRICAS
+        JRootPane raiz = getRootPane();
+        raiz.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "metricas");
+        raiz.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F4, 0), "exportarMetricas");
+        raiz.getActionMap().put("metricas", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                painelDesenho.setMostrarMetricas(!painelDesenho.isMostrarMetricas());
+            }
+        });
+        raiz.getActionMap().put("exportarMetricas", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                exportarMetricas();
+            }
+        });
+
+        if (arquivoDiario != null) abrirDiario(arquivoDiario);
+        if (arquivoEspecies != null) carregarEspecies(arquivoEspecies);
+    }
+
+    // --- DIÁRIO DE SESSÕES ---
+    // Cada clique, resultado e mudança de condições vai para o diário na hora (ver DiarioSessoes).
+    // Uma falha de escrita só desliga a gravação; a simulação continua.
+    @FunctionalInterface
+    private interface EventoDiario {
+        void gravar(DiarioSessoes.Gravador gravador, long agora) throws IOException;
+    }
+
+    private void abrirDiario(Path arquivo) {
+        try {
+            diario = new DiarioSessoes.Gravador(arquivo, catalogo);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Não foi possível abrir o diário " + arquivo + ":\n" + e.getMessage()
+                    + "\nA simulação segue sem gravar.", "Diário de Sessões", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                registrar((gravador, agora) -> gravador.fimSessao(agora));
+                fecharDiario();
+            }
+        });
+    }
+
+    private void registrar(EventoDiario evento) {
+        if (diario == null) return;
+        try {
+            evento.gravar(diario, System.currentTimeMillis());
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar o diário de sessões; gravação desligada: " + e.getMessage());
+            fecharDiario();
+        }
+    }
+
+    private void fecharDiario() {
+        if (diario == null) return;
+        try {
+            diario.close();
+        } catch (IOException e) {
+            System.err.println("Falha ao fechar o diário de sessões: " + e.getMessage());
+        }
+        diario = null;
+    }
+
+    private int idDe(informacoesEspecies especie) {
+        return catalogo.getId(catalogo.posicaoDaEspecie(especie));
+    }
+
+    private void exportarMetricas() {
+        try {
+            Metricas.GLOBAL.exportar(ARQUIVO_METRICAS);
+            JOptionPane.showMessageDialog(this, "Métricas exportadas para " + ARQUIVO_METRICAS.toAbsolutePath(),
+                    "Métricas", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Não foi possível exportar as métricas:\n" + e.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void aplicarConsultaTabela() {
+        modeloTabela.consultar(txtBusca.getText(),
+                ModeloTabelaEspecies.Filtro.values()[cmbFiltro.getSelectedIndex()],
+                ModeloTabelaEspecies.Ordem.values()[cmbOrdem.getSelectedIndex()]);
+    }
+
+    // --- CARREGAMENTO EM SEGUNDO PLANO ---
+    // A janela abre na hora; as linhas entram na tabela conforme são lidas
+    // e o catálogo só é trocado quando o arquivo termina.
+    // Se já existe um snapshot binário em dia com o arquivo, ele é usado no lugar do texto.
+    private void carregarEspecies(Path arquivo) {
+        carregando = true;
+        modeloTabela.iniciarCarga();
+        lblStatus.setText("Carregando espécies de " + arquivo.getFileName() + "...");
+        lblStatus.setForeground(new Color(255, 200, 0));
+
+        new SwingWorker<CatalogoEspecies, Object[]>() {
+            private int rejeitados = 0;
+            private long msSnapshot = -1;
+
+            @Override
+            protected CatalogoEspecies doInBackground() throws Exception {
+                long inicio = System.nanoTime();
+                BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+                CatalogoEspecies doSnapshot = SnapshotEspecies.lerSeAtual(arquivo, atributos);
+                if (doSnapshot != null) {
+                    msSnapshot = (System.nanoTime() - inicio) / 1_000_000;
+                    return doSnapshot;
+                }
+
+                Map<Integer, informacoesEspecies> tabelaLida = new HashMap<>();
+                CarregadorEspecies.ler(arquivo, new CarregadorEspecies.Receptor() {
+                    @Override
+                    public void receber(int id, informacoesEspecies especie) {
+                        tabelaLida.put(id, especie);
+                        publish(new Object[]{id, especie.forma(), especie.potencial()});
+                    }
+
+                    @Override
+                    public void rejeitar(int posicao, String motivo) {
+                        rejeitados++;
+                        System.err.println(arquivo.getFileName() + " (" + posicao + "): " + motivo);
+                    }
+                });
+                CatalogoEspecies lido = new CatalogoEspecies(tabelaLida);
+                try {
+                    SnapshotEspecies.gravar(lido, arquivo, atributos);
+                } catch (IOException e) {
+                    System.err.println("Não foi possível gravar o snapshot de " + arquivo + ": " + e.getMessage());
+                }
+                return lido;
+            }
+
+            @Override
+            protected void process(List<Object[]> linhas) {
+                modeloTabela.adicionarCarregadas(linhas);
+                lblStatus.setText("Carregando espécies de " + arquivo.getFileName() + "... (" + modeloTabela.getRowCount() + ")");
+            }
+
+            @Override
+            protected void done() {
+                carregando = false;
+                try {
+                    catalogo = get();
+                    if (diario != null) diario.setCatalogo(catalogo);
+                    painelConsultas.setCatalogo(catalogo);
+                    modeloTabela.setCatalogo(catalogo);
+                    String aviso = rejeitados > 0 ? " (" + rejeitados + " pares ignorados)" : "";
+                    if (msSnapshot >= 0) aviso = " (snapshot, " + msSnapshot + " ms)";
+                    lblStatus.setText(catalogo.tamanho() + " espécies carregadas" + aviso + ". Clique na tabela para selecionar a PRIMEIRA espécie.");
+                    lblStatus.setForeground(Color.WHITE);
+                } catch (Exception e) {
+                    // Volta para a tabela embutida
+                    Throwable causa = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(SimuladorSwing.this, "Não foi possível ler " + arquivo + ":\n" + causa.getMessage(), "Erro de Arquivo", JOptionPane.ERROR_MESSAGE);
+                    modeloTabela.setCatalogo(catalogo);
+                    lblStatus.setText("Clique na tabela para selecionar a PRIMEIRA espécie.");
+                    lblStatus.setForeground(Color.WHITE);
+                }
+            }
+        }.execute();
     }
 
     private void processarSelecao(int idSelecionado) {
-        informacoesEspecies selecaoAtual = bancoDeEspecies.get(idSelecionado);
+        Metricas.Medicao medicao = Metricas.GLOBAL.iniciar(Metricas.SELECAO);
+        informacoesEspecies selecaoAtual = catalogo.porId(idSelecionado);
 
         if (primeiraEscolha == null) {
             primeiraEscolha = selecaoAtual;
+            registrar((gravador, agora) -> gravador.selecao(agora, idSelecionado, DiarioSessoes.ACEITA_PRIMEIRA));
             lblStatus.setText("<html>Selecionado: <b>" + primeiraEscolha.forma() + "</b>. Agora escolha a SEGUNDA espécie.</html>");
             lblStatus.setForeground(new Color(255, 200, 0));
             tabela.clearSelection();
         } else {
-            if (selecaoAtual.forma().equals(primeiraEscolha.forma())) {
-                JOptionPane.showMessageDialog(this, "Você escolheu a mesma espécie duas vezes!", "Erro", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            if (primeiraEscolha.formaOposta().equals(selecaoAtual.forma())) {
-                 JOptionPane.showMessageDialog(this, "Mesmo elemento químico (" + primeiraEscolha.getSimbolo() + "). Escolha metais diferentes.", "Erro Químico", JOptionPane.ERROR_MESSAGE);
-                 return;
-            }
-            if (primeiraEscolha.tipo().equals(selecaoAtual.tipo())) {
-                JOptionPane.showMessageDialog(this, "Conflito de Tipo! Você precisa de um Metal Sólido e um Íon Aquoso.", "Erro de Estado", JOptionPane.ERROR_MESSAGE);
+            ErroSelecao erro = ErroSelecao.validar(primeiraEscolha, selecaoAtual);
+            if (erro != null) {
+                medicao.terminar(); // o tempo com o diálogo aberto é do usuário, não do cálculo
+                registrar((gravador, agora) -> gravador.selecao(agora, idSelecionado, DiarioSessoes.desfecho(erro)));
+                JOptionPane.showMessageDialog(this, erro.mensagem(primeiraEscolha), erro.titulo(), JOptionPane.ERROR_MESSAGE);
                 return;
             }
 
             segundaEscolha = selecaoAtual;
+            registrar((gravador, agora) -> gravador.selecao(agora, idSelecionado, DiarioSessoes.PILHA_MONTADA));
             finalizarSimulacao();
         }
+        medicao.terminar();
+    }
+
+    // Pilha escolhida no painel de consultas: recomeça e monta direto, sem passar pelos cliques na tabela
+    private void montarPilha(informacoesEspecies anodo, informacoesEspecies catodo) {
+        if (carregando) return;
+        reiniciarSimulacao();
+        // Metal do ânodo + íon do cátodo: a mesma seleção que o usuário faria na tabela
+        informacoesEspecies ionCatodo = catalogo.oposta(catodo);
+        primeiraEscolha = anodo;
+        segundaEscolha = ionCatodo != null ? ionCatodo : catodo;
+        registrar((gravador, agora) -> {
+            gravador.selecao(agora, idDe(primeiraEscolha), DiarioSessoes.ACEITA_PRIMEIRA);
+            gravador.selecao(agora, idDe(segundaEscolha), DiarioSessoes.PILHA_MONTADA);
+        });
+        finalizarSimulacao();
     }
 
     private void finalizarSimulacao() {
+        Metricas.Medicao medicao = Metricas.GLOBAL.iniciar(Metricas.MONTAGEM);
         lblStatus.setText("Simulação Concluída! Lâmpada Acesa.");
         lblStatus.setForeground(new Color(0, 150, 0));
         btnReiniciar.setEnabled(true);
         tabela.setEnabled(false);
 
-        informacoesEspecies anodoOxida;
-        informacoesEspecies catodoReduz;
-
         // Determina quem oxida e quem reduz (Comparando os metais)
-        informacoesEspecies metal1 = primeiraEscolha.tipo().equals("reduzida") ? primeiraEscolha : bancoDeEspecies.get(getKeyByValue(primeiraEscolha.formaOposta()));
-        informacoesEspecies metal2 = segundaEscolha.tipo().equals("reduzida") ? segundaEscolha : bancoDeEspecies.get(getKeyByValue(segundaEscolha.formaOposta()));
+        AvaliadorPilhas.ResultadoPilha pilha = AvaliadorPilhas.avaliarSelecao(catalogo, primeiraEscolha, segundaEscolha);
+        pilhaAtual = pilha;
+        registrar((gravador, agora) -> gravador.resultado(agora, pilha.ddp(), pilha.reacao().eletrons()));
+        btnDescarga.setEnabled(true);
+        btnSerie.setEnabled(true);
+        btnParalelo.setEnabled(grupoAtual >= 0);
+        btnTrocarCelula.setEnabled(!celulasBateria.isEmpty());
+        mostrarResultado();
+
+        painelDesenho.setDadosPilha(pilha.catodo(), pilha.anodo());
+        medicao.terminar();
+    }
+
+    // Condições mudadas pelo usuário: mostra e, com uma pilha montada, anota no diário
+    private void alterarCondicoes() {
+        mostrarResultado();
+        if (pilhaAtual == null || diario == null) return;
+        boolean nernst = chkNernst.isSelected();
+        double concAnodo = ((Number) spnConcAnodo.getValue()).doubleValue();
+        double concCatodo = ((Number) spnConcCatodo.getValue()).doubleValue();
+        double temperatura = ((Number) spnTemperatura.getValue()).doubleValue();
+        double e = nernst ? Nernst.potencial(pilhaAtual, concAnodo, concCatodo, temperatura) : pilhaAtual.ddp();
+        registrar((gravador, agora) -> gravador.condicoes(agora, nernst, concAnodo, concCatodo, temperatura, e));
+    }
+
+    // Refeito a cada mudança nas condições; no modo Nernst também desenha E x log[íon do cátodo]
+    private void mostrarResultado() {
+        if (pilhaAtual == null) return;
+
+        StringBuilder sb = new StringBuilder();
+        boolean balanceada = pilhaAtual.reacao().balanceada();
+        if (balanceada) {
+            sb.append(" EQUAÇÃO GLOBAL: ").append(pilhaAtual.equacao()).append("\n");
+        } else {
+            // Só as formas do par não fecham a massa: melhor não mostrar uma equação errada
+            sb.append(" EQUAÇÃO GLOBAL: não balanceável com as formas dos pares, H2O e H+ (confira as fórmulas)\n");
+        }
+        sb.append(String.format(" DDP DA PILHA: %.2f V   n = %d e-   ΔG° = %.1f kJ/mol", pilhaAtual.ddp(),
+                pilhaAtual.reacao().eletrons(), pilhaAtual.energiaLivre() / 1000));
+        if (balanceada) {
+            sb.append("\n OXIDAÇÃO (ÂNODO): ").append(pilhaAtual.reacao().semiOxidacao());
+            sb.append("\n REDUÇÃO (CÁTODO): ").append(pilhaAtual.reacao().semiReducao());
+        }
+        double fluxo = pilhaAtual.ddp();
+
+        if (chkNernst.isSelected()) {
+            double concAnodo = ((Number) spnConcAnodo.getValue()).doubleValue();
+            double concCatodo = ((Number) spnConcCatodo.getValue()).doubleValue();
+            double temperatura = ((Number) spnTemperatura.getValue()).doubleValue();
+            double e = Nernst.potencial(pilhaAtual, concAnodo, concCatodo, temperatura);
+            sb.append(String.format("%n E (NERNST): %.3f V  (T = %.2f K)   ΔG = %.1f kJ/mol", e, temperatura,
+                    pilhaAtual.reacao().energiaLivre(e) / 1000));
+            fluxo = e;
 
-        if (metal1.potencial() > metal2.potencial()) {
-            catodoReduz = metal1;
-            anodoOxida = metal2;
+            double[] concentracoes = Nernst.escalaLog(-4, 1, 200);
+            double[] curva = Nernst.varrer(pilhaAtual, concAnodo, concentracoes, new double[]{temperatura})[0];
+            painelDesenho.setCurvaNernst(-4, 1, curva, Math.log10(concCatodo), e);
         } else {
-            catodoReduz = metal2;
-            anodoOxida = metal1;
+            painelDesenho.setCurvaNernst(0, 0, null, 0, 0);
         }
 
-        double ddp = catodoReduz.potencial() - anodoOxida.potencial();
-        String equacao = anodoOxida.forma() + " + " + catodoReduz.formaOposta() + " -> " + anodoOxida.formaOposta() + " + " + catodoReduz.forma();
+        if (estadoDescarga != null) {
+            long segundos = (long) tempoDescarga;
+            sb.append(String.format("%n DESCARGA: t = %dh%02dm  E = %.3f V  I = %.1f mA  %s: %.2f g  %s: %.2f g",
+                    segundos / 3600, segundos / 60 % 60, estadoDescarga.potencial(), estadoDescarga.corrente() * 1000,
+                    pilhaAtual.anodo().getSimbolo(), estadoDescarga.massaAnodo(),
+                    pilhaAtual.catodo().getSimbolo(), estadoDescarga.massaCatodo()));
+            fluxo = estadoDescarga.potencial();
+        }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(" EQUAÇÃO GLOBAL: ").append(equacao).append("\n");
-        sb.append(String.format(" DDP DA PILHA: %.2f V", ddp));
-        
         areaResultado.setText(sb.toString());
+        painelDesenho.setFluxo(fluxo);
+    }
 
-        painelDesenho.setDadosPilha(catodoReduz, anodoOxida);
+    // --- DESCARGA ---
+    // A simulação roda na própria thread; aqui só chegam fotos prontas, já na EDT.
+    private void alternarDescarga() {
+        if (descarga != null) {
+            pararDescarga();
+            btnDescarga.setText("Descarregar Pilha");
+            return;
+        }
+        boolean nernst = chkNernst.isSelected();
+        SimulacaoDescarga.Parametros padrao = SimulacaoDescarga.Parametros.PADRAO;
+        SimulacaoDescarga.Parametros parametros = new SimulacaoDescarga.Parametros(
+                padrao.massaEletrodo(),
+                nernst ? ((Number) spnConcAnodo.getValue()).doubleValue() : padrao.concIonAnodo(),
+                nernst ? ((Number) spnConcCatodo.getValue()).doubleValue() : padrao.concIonCatodo(),
+                padrao.volume(), padrao.resistenciaInterna(), padrao.resistenciaCarga(),
+                nernst ? ((Number) spnTemperatura.getValue()).doubleValue() : padrao.temperatura());
+
+        SimulacaoDescarga simulacao = new SimulacaoDescarga();
+        simulacao.adicionar(pilhaAtual, parametros);
+        simulacao.setVelocidade(velocidadeEscolhida());
+        descarga = simulacao;
+        correnteInicial = 0;
+        btnDescarga.setText("Parar Descarga");
+        simulacao.iniciar(estado -> {
+            if (descarga != simulacao) return; // foto atrasada de uma simulação já parada
+            estadoDescarga = estado.celulas().get(0);
+            tempoDescarga = estado.tempo();
+            if (correnteInicial == 0) correnteInicial = estadoDescarga.corrente();
+            painelDesenho.setBrilhoLampada(correnteInicial > 0 ? estadoDescarga.corrente() / correnteInicial : 0);
+            mostrarResultado();
+            if (estado.terminou()) {
+                descarga = null;
+                btnDescarga.setText("Descarregar Pilha");
+                btnDescarga.setEnabled(false);
+                lblStatus.setText("Pilha descarregada! Lâmpada Apagada.");
+                lblStatus.setForeground(new Color(200, 60, 60));
+            }
+        });
     }
-    
-    private int getKeyByValue(String forma) {
-        for (Map.Entry<Integer, informacoesEspecies> entry : bancoDeEspecies.entrySet()) {
-            if (entry.getValue().forma().equals(forma)) return entry.getKey();
+
+    private void pararDescarga() {
+        if (descarga != null) descarga.parar();
+        descarga = null;
+    }
+
+    // --- BATERIA ---
+    // Cada pilha entra com a fem das condições atuais (Nernst, se ligado) e a resistência interna padrão.
+    // Trocar ou remover uma pilha só recalcula o ramo dela (ver BateriaPilhas).
+    private void adicionarNaBateria(boolean emSerie) {
+        if (pilhaAtual == null) return;
+        if (bateria == null) bateria = new BateriaPilhas(BateriaPilhas.SERIE);
+        if (emSerie || grupoAtual < 0) grupoAtual = bateria.adicionarGrupo(bateria.raiz(), BateriaPilhas.PARALELO);
+        double fem = femAtual();
+        celulasBateria.add(bateria.adicionarCelula(grupoAtual, fem, SimulacaoDescarga.Parametros.PADRAO.resistenciaInterna()));
+        gruposBateria.add(grupoAtual);
+        cmbCelulas.addItem(rotuloCelula(fem));
+        cmbCelulas.setSelectedIndex(cmbCelulas.getItemCount() - 1);
+        btnParalelo.setEnabled(true);
+        btnLimparBateria.setEnabled(true);
+        mostrarBateria();
+    }
+
+    private void trocarCelula() {
+        int i = cmbCelulas.getSelectedIndex();
+        if (pilhaAtual == null || i < 0) return;
+        double fem = femAtual();
+        bateria.alterarCelula(celulasBateria.get(i), fem, SimulacaoDescarga.Parametros.PADRAO.resistenciaInterna());
+        cmbCelulas.removeItemAt(i);
+        cmbCelulas.insertItemAt(rotuloCelula(fem), i);
+        cmbCelulas.setSelectedIndex(i);
+        mostrarBateria();
+    }
+
+    // Um grupo em paralelo que fica vazio sai junto: vazio, ele abriria a série inteira
+    private void removerCelula() {
+        int i = cmbCelulas.getSelectedIndex();
+        if (i < 0) return;
+        int grupo = gruposBateria.get(i);
+        bateria.remover(celulasBateria.remove(i));
+        gruposBateria.remove(i);
+        cmbCelulas.removeItemAt(i);
+        if (!gruposBateria.contains(grupo)) {
+            bateria.remover(grupo);
+            if (grupoAtual == grupo) grupoAtual = gruposBateria.isEmpty() ? -1 : gruposBateria.get(gruposBateria.size() - 1);
+        }
+        if (celulasBateria.isEmpty()) {
+            limparBateria();
+            return;
+        }
+        btnParalelo.setEnabled(pilhaAtual != null && grupoAtual >= 0);
+        mostrarBateria();
+    }
+
+    private void limparBateria() {
+        bateria = null;
+        grupoAtual = -1;
+        celulasBateria.clear();
+        gruposBateria.clear();
+        cmbCelulas.removeAllItems();
+        btnParalelo.setEnabled(false);
+        btnLimparBateria.setEnabled(false);
+        mostrarBateria();
+    }
+
+    private double femAtual() {
+        if (!chkNernst.isSelected()) return pilhaAtual.ddp();
+        return Nernst.potencial(pilhaAtual, ((Number) spnConcAnodo.getValue()).doubleValue(),
+                ((Number) spnConcCatodo.getValue()).doubleValue(), ((Number) spnTemperatura.getValue()).doubleValue());
+    }
+
+    private String rotuloCelula(double fem) {
+        return String.format("%s | %s  %.2f V", pilhaAtual.anodo().forma(), pilhaAtual.catodo().forma(), fem);
+    }
+
+    private void mostrarBateria() {
+        boolean temCelulas = !celulasBateria.isEmpty();
+        cmbCelulas.setEnabled(temCelulas);
+        btnTrocarCelula.setEnabled(temCelulas && pilhaAtual != null);
+        btnRemoverCelula.setEnabled(temCelulas);
+        if (bateria == null) {
+            lblBateria.setText("");
+            return;
         }
-        return -1;
+        double carga = SimulacaoDescarga.Parametros.PADRAO.resistenciaCarga();
+        lblBateria.setText(String.format("Bateria: %d pilha(s)  E = %.2f V  R = %.2f Ω  I = %.1f mA (carga %.0f Ω)",
+                bateria.getQuantidadeCelulas(), bateria.getTensao(), bateria.getResistencia(),
+                bateria.corrente(carga) * 1000, carga));
     }
 
+    private double velocidadeEscolhida() {
+        return switch (cmbVelocidade.getSelectedIndex()) {
+            case 0 -> 1;
+            case 1 -> 60;
+            case 2 -> 3600;
+            default -> Double.POSITIVE_INFINITY;
+        };
+    }
+    
     private void reiniciarSimulacao() {
+        registrar((gravador, agora) -> gravador.fimSessao(agora));
         primeiraEscolha = null;
         segundaEscolha = null;
+        pilhaAtual = null;
+        pararDescarga();
+        estadoDescarga = null;
+        btnDescarga.setText("Descarregar Pilha");
+        btnDescarga.setEnabled(false);
+        btnSerie.setEnabled(false);
+        btnParalelo.setEnabled(false);
+        btnTrocarCelula.setEnabled(false);
         areaResultado.setText("");
         lblStatus.setText("Clique na tabela para selecionar a PRIMEIRA espécie.");
         lblStatus.setForeground(Color.WHITE);
         tabela.setEnabled(true);
         tabela.clearSelection();
         btnReiniciar.setEnabled(false);
+        painelDesenho.setCurvaNernst(0, 0, null, 0, 0);
+        painelDesenho.setBrilhoLampada(1);
         painelDesenho.resetar();
     }
 
     // --- PAINEL DE DESENHO DA PILHA ---
-    class PainelPilha extends JPanel {
+    // O desenho é montado em imagens guardadas: a parte fixa (ponte, fios, legendas)
+    // é refeita só quando o tamanho muda, e a cena completa de cada par cátodo/ânodo fica em cache.
+    static class PainelPilha extends JPanel {
+        private static final Font FONTE_AVISO = new Font("SansSerif", Font.ITALIC, 20);
+        private static final Font FONTE_SIMBOLO = new Font("Arial", Font.BOLD, 24);
+        private static final Font FONTE_PONTE = new Font("Arial", Font.BOLD, 12);
+        private static final Font FONTE_ELETRON = new Font("Arial", Font.PLAIN, 14);
+        private static final Font FONTE_METAL = new Font("Arial", Font.BOLD, 14);
+        private static final Font FONTE_POLO = new Font("Arial", Font.BOLD, 16);
+        private static final Font FONTE_LEGENDA = new Font("Arial", Font.PLAIN, 12);
+
+        private static final BasicStroke TRACO_FINO = new BasicStroke(1);
+        private static final BasicStroke TRACO_MEDIO = new BasicStroke(2);
+        private static final BasicStroke TRACO_FIO = new BasicStroke(3);
+        private static final BasicStroke TRACO_PONTE = new BasicStroke(25, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+        private static final Color COR_VIDRO = new Color(240, 248, 255, 100);
+        private static final Color COR_PONTE = new Color(230, 230, 220);
+        private static final Color COR_SOLUCAO_CU = new Color(135, 206, 250);
+        private static final Color COR_SOLUCAO_NI = new Color(144, 238, 144);
+        private static final Color COR_SOLUCAO_PADRAO = new Color(225, 245, 255);
+
+        private static final Color COR_CU = new Color(184, 115, 51);
+        private static final Color COR_ZN = new Color(140, 140, 150);
+        private static final Color COR_AU = new Color(255, 215, 0);
+        private static final Color COR_AG = new Color(220, 220, 220);
+        private static final Color COR_MG = new Color(200, 200, 200);
+        private static final Color COR_FE = new Color(100, 100, 100);
+        private static final Color COR_LI = new Color(180, 180, 180);
+        private static final Color COR_AL = new Color(190, 190, 190);
+        private static final Color COR_NI = new Color(150, 150, 150);
+        private static final Color COR_PB = new Color(100, 100, 110);
+
+        // Lâmpada: do cinza (apagada) ao amarelo (acesa), em NIVEIS_BRILHO + 1 tons prontos
+        private static final int NIVEIS_BRILHO = 10;
+        private static final Color[] CORES_LAMPADA = new Color[NIVEIS_BRILHO + 1];
+        static {
+            for (int i = 0; i <= NIVEIS_BRILHO; i++) {
+                double t = i / (double) NIVEIS_BRILHO;
+                CORES_LAMPADA[i] = new Color((int) (200 + 55 * t), (int) (200 + 55 * t), (int) (200 * (1 - t)));
+            }
+        }
+
+        private static final Color COR_FUNDO_GRAFICO = new Color(255, 255, 255, 220);
+        private static final Color COR_CURVA = new Color(255, 20, 147);
+
+        private static final String MSG_VAZIO = "Selecione os elementos para visualizar a pilha.";
+        private static final int MAX_CENAS = 8;
+
+        // Partículas: elétrons no fio, cátions e SO4 2- na ponte salina (uma figura pronta por tipo)
+        private static final int MAX_PARTICULAS = 4000;
+        private static final int TAMANHO_PARTICULA = 7;
+        private static final Image[] FIGURAS_PARTICULAS = {
+                criarFiguraParticula(new Color(30, 90, 255)),
+                criarFiguraParticula(new Color(255, 140, 0)),
+                criarFiguraParticula(new Color(40, 170, 70))
+        };
+
         private informacoesEspecies catodoEsq; 
         private informacoesEspecies anodoDir;  
         private boolean desenhar = false;
+        private int nivelBrilho = NIVEIS_BRILHO;
+
+        // Cache: camada fixa para o tamanho atual + cenas prontas por par (mais recente por último)
+        private int larguraCache = -1;
+        private int alturaCache = -1;
+        private double escalaCache = 0;
+        private Color fundoCache;
+        private BufferedImage camadaFixa;
+        // Cena do último quadro e o par que ela mostra
+        private BufferedImage cenaAtual;
+        private informacoesEspecies catodoCena, anodoCena;
+        // Curva de Nernst (E x log[íon do cátodo]); os pontos em pixels só são recalculados quando algo muda
+        private double[] curvaNernst;
+        private double logDe, logAte, logMarcado, eMarcado;
+        private int[] curvaX = new int[0];
+        private int[] curvaY = new int[0];
+        private double eMin, eMax;
+        private String rotuloMin = "", rotuloMax = "", rotuloDe = "", rotuloAte = "";
+        private int larguraCurva = -1, alturaCurva = -1;
+
+        private final Map<String, BufferedImage> cenas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> maisAntiga) {
+                return size() > MAX_CENAS;
+            }
+        };
+
+        // Animação: o Timer (na EDT) avança as partículas e pede o quadro; paintComponent mede quanto custou
+        private final AnimacaoFluxo particulas = new AnimacaoFluxo(MAX_PARTICULAS);
+        private final Timer relogio = new Timer(1000 / 60, e -> proximoQuadro());
+        private long instanteQuadro;
+        private long custoPintura;
+
+        // Sobreposição com as métricas (F3); enquanto visível, é redesenhada 2x por segundo mesmo sem animação
+        private static final Font FONTE_METRICAS = new Font("Monospaced", Font.PLAIN, 11);
+        private static final Color COR_FUNDO_METRICAS = new Color(0, 0, 0, 170);
+        private static final Color COR_TEXTO_METRICAS = new Color(120, 255, 120);
+        private boolean mostrarMetricas = false;
+        // O texto da sobreposição só é refeito a cada tique, não a cada quadro
+        private List<String> linhasMetricas = List.of();
+        private final Timer relogioMetricas = new Timer(500, e -> {
+            linhasMetricas = Metricas.GLOBAL.resumo();
+            repaint();
+        });
+
+        public boolean isMostrarMetricas() {
+            return mostrarMetricas;
+        }
+
+        public void setMostrarMetricas(boolean mostrar) {
+            mostrarMetricas = mostrar;
+            if (mostrar) {
+                linhasMetricas = Metricas.GLOBAL.resumo();
+                relogioMetricas.start();
+            } else {
+                relogioMetricas.stop();
+            }
+            repaint();
+        }
 
         public void setDadosPilha(informacoesEspecies catodo, informacoesEspecies anodo) {
             this.catodoEsq = catodo;
             this.anodoDir = anodo;
             this.desenhar = true;
+            animar();
             repaint();
         }
 
         public void resetar() {
             this.desenhar = false;
+            relogio.stop();
+            particulas.setFluxo(0);
+            particulas.limpar();
+            repaint();
+        }
+
+        // Partículas por segundo proporcionais à ddp (V); 0 deixa as que estão no caminho terminarem
+        public void setFluxo(double ddp) {
+            particulas.setFluxo(ddp);
+            animar();
+        }
+
+        private void animar() {
+            if (!desenhar || particulas.parada() || relogio.isRunning()) return;
+            instanteQuadro = System.nanoTime();
+            relogio.start();
+        }
+
+        private void proximoQuadro() {
+            long agora = System.nanoTime();
+            long intervalo = agora - instanteQuadro;
+            instanteQuadro = agora;
+            particulas.registrarQuadro(custoPintura, intervalo);
+            particulas.atualizar(Math.min(intervalo / 1e9, 0.1)); // depois de uma pausa longa, não dá um salto
+            if (particulas.parada()) relogio.stop();
+            repaint();
+        }
+
+        private static Image criarFiguraParticula(Color cor) {
+            BufferedImage figura = new BufferedImage(TAMANHO_PARTICULA, TAMANHO_PARTICULA, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = figura.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(cor);
+            g2.fillOval(0, 0, TAMANHO_PARTICULA - 1, TAMANHO_PARTICULA - 1);
+            g2.dispose();
+            return figura;
+        }
+
+        // 1 = acesa (pilha nova), 0 = apagada; só redesenha quando o tom da lâmpada muda
+        public void setBrilhoLampada(double brilho) {
+            int nivel = (int) Math.round(Math.max(0, Math.min(1, brilho)) * NIVEIS_BRILHO);
+            if (nivel == nivelBrilho) return;
+            nivelBrilho = nivel;
+            repaint();
+        }
+
+        // curva[i] = E para log10[íon do cátodo] indo de logDe até logAte; curva null esconde o gráfico
+        public void setCurvaNernst(double logDe, double logAte, double[] curva, double logMarcado, double eMarcado) {
+            this.curvaNernst = curva;
+            this.logDe = logDe;
+            this.logAte = logAte;
+            this.logMarcado = logMarcado;
+            this.eMarcado = eMarcado;
+            this.rotuloDe = "10^" + (int) logDe;
+            this.rotuloAte = "10^" + (int) logAte;
+            this.larguraCurva = -1;
             repaint();
         }
         
         private Color getCorMetal(String simbolo) {
             return switch (simbolo) {
-                case "Cu" -> new Color(184, 115, 51);  
-                case "Zn" -> new Color(140, 140, 150); 
-                case "Au" -> new Color(255, 215, 0);   
-                case "Ag" -> new Color(220, 220, 220); 
-                case "Mg" -> new Color(200, 200, 200); 
-                case "Fe" -> new Color(100, 100, 100); 
-                case "Li" -> new Color(180, 180, 180); 
-                case "Al" -> new Color(190, 190, 190); 
-                case "Ni" -> new Color(150, 150, 150); 
-                case "Pb" -> new Color(100, 100, 110); 
+                case "Cu" -> COR_CU;
+                case "Zn" -> COR_ZN;
+                case "Au" -> COR_AU;
+                case "Ag" -> COR_AG;
+                case "Mg" -> COR_MG;
+                case "Fe" -> COR_FE;
+                case "Li" -> COR_LI;
+                case "Al" -> COR_AL;
+                case "Ni" -> COR_NI;
+                case "Pb" -> COR_PB;
                 default -> Color.GRAY;
             };
         }
         
         private Color getCorSolucao(String simbolo) {
-             if (simbolo.equals("Cu")) return new Color(135, 206, 250); 
-             if (simbolo.equals("Ni")) return new Color(144, 238, 144); 
-             return new Color(225, 245, 255); 
+             if (simbolo.equals("Cu")) return COR_SOLUCAO_CU;
+             if (simbolo.equals("Ni")) return COR_SOLUCAO_NI;
+             return COR_SOLUCAO_PADRAO;
         }
 
         @Override
         protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
+            Metricas.Medicao medicao = Metricas.GLOBAL.iniciar(Metricas.PINTURA);
+            long inicio = System.nanoTime();
+            // Com a pilha na tela a cena (opaca, já com o fundo) cobre o painel todo: não precisa limpar antes
+            if (!desenhar) super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            desenharQuadro(g2);
+            if (mostrarMetricas) desenharMetricas(g2);
+            custoPintura = System.nanoTime() - inicio;
+            medicao.terminar();
+        }
 
+        private void desenharQuadro(Graphics2D g2) {
             if (!desenhar) {
                 g2.setColor(Color.LIGHT_GRAY);
-                g2.setFont(new Font("SansSerif", Font.ITALIC, 20));
+                g2.setFont(FONTE_AVISO);
                 FontMetrics fm = g2.getFontMetrics();
-                String msg = "Selecione os elementos para visualizar a pilha.";
-                g2.drawString(msg, (getWidth() - fm.stringWidth(msg))/2, getHeight()/2);
+                g2.drawString(MSG_VAZIO, (getWidth() - fm.stringWidth(MSG_VAZIO))/2, getHeight()/2);
                 return;
             }
 
             int w = getWidth();
             int h = getHeight();
+            if (w <= 0 || h <= 0) return;
+
+            // Em telas com escala (HiDPI) a imagem é feita no tamanho real em pixels
+            double escala = g2.getTransform().getScaleX();
+            if (w != larguraCache || h != alturaCache || escala != escalaCache || getBackground() != fundoCache) {
+                larguraCache = w;
+                alturaCache = h;
+                escalaCache = escala;
+                fundoCache = getBackground();
+                camadaFixa = null;
+                cenas.clear();
+                cenaAtual = null;
+                particulas.definirTrilhas(w, h);
+            }
+
+            // Mesmo par do quadro anterior: usa a cena direto, sem montar a chave do cache
+            if (cenaAtual == null || catodoEsq != catodoCena || anodoDir != anodoCena) {
+                String chave = catodoEsq.forma() + "|" + anodoDir.forma();
+                BufferedImage cena = cenas.get(chave);
+                if (cena == null) {
+                    cena = criarCena(w, h, escala);
+                    cenas.put(chave, cena);
+                }
+                cenaAtual = cena;
+                catodoCena = catodoEsq;
+                anodoCena = anodoDir;
+            }
+            g2.drawImage(cenaAtual, 0, 0, w, h, null);
+            desenharLampada(g2, w, h);
+            particulas.desenhar(g2, FIGURAS_PARTICULAS, TAMANHO_PARTICULA / 2);
+
+            if (curvaNernst != null) desenharCurvaNernst(g2, w, h);
+        }
+
+        // --- 7. Métricas de desempenho (canto superior esquerdo) ---
+        private void desenharMetricas(Graphics2D g2) {
+            List<String> linhas = linhasMetricas;
+            g2.setFont(FONTE_METRICAS);
+            FontMetrics fm = g2.getFontMetrics();
+            int largura = 0;
+            for (String linha : linhas) largura = Math.max(largura, fm.stringWidth(linha));
+            Insets borda = getInsets();
+            int x = borda.left + 4;
+            int y = borda.top + 4;
+            g2.setColor(COR_FUNDO_METRICAS);
+            g2.fillRect(x, y, largura + 12, linhas.size() * fm.getHeight() + 8);
+            g2.setColor(COR_TEXTO_METRICAS);
+            for (int i = 0; i < linhas.size(); i++) {
+                g2.drawString(linhas.get(i), x + 6, y + 4 + fm.getAscent() + i * fm.getHeight());
+            }
+        }
+
+        // A cena já leva o fundo do painel e é opaca: cada quadro só copia os pixels, sem mistura de alfa
+        private BufferedImage criarCena(int w, int h, double escala) {
+            if (camadaFixa == null) {
+                camadaFixa = criarImagem(w, h, escala, Transparency.TRANSLUCENT);
+                Graphics2D gf = iniciar(camadaFixa, escala);
+                desenharCamadaFixa(gf, w, h);
+                gf.dispose();
+            }
+            BufferedImage cena = criarImagem(w, h, escala, Transparency.OPAQUE);
+            Graphics2D gc = iniciar(cena, escala);
+            gc.setColor(getBackground());
+            gc.fillRect(0, 0, w, h);
+            desenharEletrodos(gc, w, h);
+            gc.drawImage(camadaFixa, 0, 0, w, h, null);
+            desenharTextosEspecies(gc, w, h);
+            gc.dispose();
+            return cena;
+        }
+
+        private BufferedImage criarImagem(int w, int h, double escala, int transparencia) {
+            int larguraPx = (int) Math.ceil(w * escala);
+            int alturaPx = (int) Math.ceil(h * escala);
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            if (gc != null) return gc.createCompatibleImage(larguraPx, alturaPx, transparencia);
+            return new BufferedImage(larguraPx, alturaPx,
+                    transparencia == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+
+        private Graphics2D iniciar(BufferedImage imagem, double escala) {
+            Graphics2D g2 = imagem.createGraphics();
+            g2.scale(escala, escala);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            return g2;
+        }
+
+        // --- 1 e 2. Copos (Béqueres), Solução e Eletrodos: dependem do par escolhido ---
+        private void desenharEletrodos(Graphics2D g2, int w, int h) {
             int centroY = h / 2 + 10;
             int bequerW = 180;
             int bequerH = 220;
             int offsetEsq = w/2 - 250; 
             int offsetDir = w/2 + 70;
 
-            // --- 1. Copos (Béqueres) e Solução ---
             drawBequer(g2, offsetEsq, centroY - 100, bequerW, bequerH, getCorSolucao(catodoEsq.getSimbolo()));
             drawBequer(g2, offsetDir, centroY - 100, bequerW, bequerH, getCorSolucao(anodoDir.getSimbolo()));
 
-            // --- 2. Eletrodos ---
             g2.setColor(getCorMetal(catodoEsq.getSimbolo()));
             g2.fillRect(offsetEsq + 60, centroY - 80, 60, 180);
             g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(2));
+            g2.setStroke(TRACO_MEDIO);
             g2.drawRect(offsetEsq + 60, centroY - 80, 60, 180);
             g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Arial", Font.BOLD, 24));
+            g2.setFont(FONTE_SIMBOLO);
             g2.drawString(catodoEsq.getSimbolo(), offsetEsq + 75, centroY + 20);
 
             g2.setColor(getCorMetal(anodoDir.getSimbolo()));
@@ -313,30 +1067,34 @@ public class SimuladorSwing extends JFrame {
             g2.drawRect(offsetDir + 60, centroY - 80, 60, 180);
             g2.setColor(Color.WHITE);
             g2.drawString(anodoDir.getSimbolo(), offsetDir + 75, centroY + 20);
+        }
+
+        // --- 3, 4 e 5. Ponte salina, fios e legendas: iguais para qualquer par ---
+        private void desenharCamadaFixa(Graphics2D g2, int w, int h) {
+            int centroY = h / 2 + 10;
+            int offsetEsq = w/2 - 250; 
+            int offsetDir = w/2 + 70;
 
             // --- 3. Ponte Salina ---
-            g2.setColor(new Color(230, 230, 220)); 
-            g2.setStroke(new BasicStroke(25, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2.setColor(COR_PONTE); 
+            g2.setStroke(TRACO_PONTE);
             g2.drawArc(w/2 - 90, centroY - 60, 180, 150, 0, 180); 
             g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(2));
+            g2.setStroke(TRACO_MEDIO);
             g2.drawArc(w/2 - 102, centroY - 60, 204, 170, 0, 180); 
             g2.drawArc(w/2 - 78, centroY - 60, 156, 130, 0, 180);  
             g2.setColor(Color.WHITE);
             g2.fillOval(w/2 - 102, centroY + 15, 24, 24);
             g2.fillOval(w/2 + 78, centroY + 15, 24, 24);
             g2.setColor(Color.BLACK);
-            g2.setFont(new Font("Arial", Font.BOLD, 12));
+            g2.setFont(FONTE_PONTE);
             g2.drawString("ponte salina", w/2 - 35, centroY - 5);
 
             // --- 4. Fios e Lâmpada ---
             g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(3));
+            g2.setStroke(TRACO_FIO);
             
             // Fio Esquerda
-            int lampX = w/2 - 25;
-            int lampY = centroY - 230;
-
             g2.drawLine(offsetEsq + 90, centroY - 80, offsetEsq + 90, centroY - 180); 
             g2.drawLine(offsetEsq + 90, centroY - 180, w/2 - 30, centroY - 180); 
             
@@ -344,24 +1102,9 @@ public class SimuladorSwing extends JFrame {
             g2.drawLine(offsetDir + 90, centroY - 80, offsetDir + 90, centroY - 180); 
             g2.drawLine(offsetDir + 90, centroY - 180, w/2 + 30, centroY - 180);
 
-            // LÂMPADA ACESA
-            g2.setColor(Color.YELLOW);
-            g2.fillOval(lampX, lampY, 50, 50); 
-            g2.setColor(Color.ORANGE); 
-            g2.setStroke(new BasicStroke(2));
-            g2.drawOval(lampX, lampY, 50, 50); 
-            g2.setColor(Color.ORANGE);
-            g2.drawLine(w/2, lampY - 10, w/2, lampY - 25);
-            g2.drawLine(w/2 - 30, lampY + 10, w/2 - 45, lampY);
-            g2.drawLine(w/2 + 30, lampY + 10, w/2 + 45, lampY);
-            g2.setColor(Color.DARK_GRAY);
-            g2.fillRect(lampX + 10, lampY + 48, 30, 20);
-            g2.setColor(Color.BLACK);
-            g2.drawString("lâmpada acesa", w/2 - 45, lampY - 30);
-
             // --- 5. Informações e Elétrons ---
             g2.setColor(Color.BLACK);
-            g2.setFont(new Font("Arial", Font.PLAIN, 14));
+            g2.setFont(FONTE_ELETRON);
             // Seta Esquerda
             g2.drawString("e-", offsetEsq + 200, centroY - 190);
             drawArrow(g2, offsetEsq + 150, centroY - 180, offsetEsq + 100, centroY - 180);
@@ -370,40 +1113,73 @@ public class SimuladorSwing extends JFrame {
             drawArrow(g2, offsetDir + 80, centroY - 180, offsetDir + 30, centroY - 180);
 
             // Textos Descritivos
-            g2.setFont(new Font("Arial", Font.BOLD, 14));
             // LADO ESQUERDO
             g2.setColor(Color.BLACK);
-            String txtMetEsq = catodoEsq.forma() + " metálico";
-            g2.drawString(txtMetEsq, offsetEsq + 30, centroY - 260);
-            g2.setFont(new Font("Arial", Font.BOLD, 16));
+            g2.setFont(FONTE_POLO);
             g2.drawString("Cátodo", offsetEsq + 65, centroY - 240);
-            g2.setFont(new Font("Arial", Font.PLAIN, 12));
+            g2.setFont(FONTE_LEGENDA);
             g2.drawString("(polo positivo", offsetEsq + 55, centroY - 220);
             g2.drawString("onde ocorre a", offsetEsq + 55, centroY - 205);
             g2.drawString("redução)", offsetEsq + 70, centroY - 190);
             // LADO DIREITO
-            g2.setFont(new Font("Arial", Font.BOLD, 14));
-            String txtMetDir = anodoDir.forma() + " metálico";
-            g2.drawString(txtMetDir, offsetDir + 30, centroY - 260);
-            g2.setFont(new Font("Arial", Font.BOLD, 16));
+            g2.setFont(FONTE_POLO);
             g2.drawString("Ânodo", offsetDir + 65, centroY - 240);
-            g2.setFont(new Font("Arial", Font.PLAIN, 12));
+            g2.setFont(FONTE_LEGENDA);
             g2.drawString("(polo negativo", offsetDir + 55, centroY - 220);
             g2.drawString("onde ocorre a", offsetDir + 55, centroY - 205);
             g2.drawString("oxidação)", offsetDir + 70, centroY - 190);
 
-            // ÍONS
-            g2.setFont(new Font("Arial", Font.BOLD, 16));
+            // ÍONS (o sulfato é o mesmo nos dois lados)
+            g2.setFont(FONTE_POLO);
             g2.setColor(Color.DARK_GRAY);
-            g2.drawString(catodoEsq.getSimboloIon(), offsetEsq + 20, centroY + 80);
             g2.drawString("SO4 2-", offsetEsq + 110, centroY + 60);
-            g2.drawString(anodoDir.getSimboloIon(), offsetDir + 120, centroY + 100);
             g2.drawString("SO4 2-", offsetDir + 30, centroY + 80);
         }
 
+        // LÂMPADA: fica fora do cache porque o brilho muda durante a descarga
+        private void desenharLampada(Graphics2D g2, int w, int h) {
+            int centroY = h / 2 + 10;
+            int lampX = w/2 - 25;
+            int lampY = centroY - 230;
+            boolean acesa = nivelBrilho > 0;
+
+            g2.setColor(CORES_LAMPADA[nivelBrilho]);
+            g2.fillOval(lampX, lampY, 50, 50); 
+            g2.setColor(acesa ? Color.ORANGE : Color.GRAY); 
+            g2.setStroke(TRACO_MEDIO);
+            g2.drawOval(lampX, lampY, 50, 50); 
+            if (acesa) {
+                g2.drawLine(w/2, lampY - 10, w/2, lampY - 25);
+                g2.drawLine(w/2 - 30, lampY + 10, w/2 - 45, lampY);
+                g2.drawLine(w/2 + 30, lampY + 10, w/2 + 45, lampY);
+            }
+            g2.setColor(Color.DARK_GRAY);
+            g2.fillRect(lampX + 10, lampY + 48, 30, 20);
+            g2.setColor(Color.BLACK);
+            g2.setFont(FONTE_PONTE);
+            g2.drawString(acesa ? "lâmpada acesa" : "lâmpada apagada", w/2 - (acesa ? 45 : 50), lampY - 30);
+        }
+
+        // Nomes dos metais e dos íons de cada lado
+        private void desenharTextosEspecies(Graphics2D g2, int w, int h) {
+            int centroY = h / 2 + 10;
+            int offsetEsq = w/2 - 250; 
+            int offsetDir = w/2 + 70;
+
+            g2.setColor(Color.BLACK);
+            g2.setFont(FONTE_METAL);
+            g2.drawString(catodoEsq.forma() + " metálico", offsetEsq + 30, centroY - 260);
+            g2.drawString(anodoDir.forma() + " metálico", offsetDir + 30, centroY - 260);
+
+            g2.setFont(FONTE_POLO);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawString(catodoEsq.getSimboloIon(), offsetEsq + 20, centroY + 80);
+            g2.drawString(anodoDir.getSimboloIon(), offsetDir + 120, centroY + 100);
+        }
+
         private void drawBequer(Graphics2D g2, int x, int y, int w, int h, Color corLiq) {
             // Vidro
-            g2.setColor(new Color(240, 248, 255, 100));
+            g2.setColor(COR_VIDRO);
             g2.fillRoundRect(x, y, w, h, 30, 30);
             // Liquido
             g2.setColor(corLiq);
@@ -414,11 +1190,73 @@ public class SimuladorSwing extends JFrame {
             
             // Contorno Bequer
             g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(1));
+            g2.setStroke(TRACO_FINO);
             g2.drawRoundRect(x, y, w, h, 30, 30);
             g2.drawOval(x, y - 10, w, 20); 
         }
 
+        // --- 6. Gráfico de Nernst (canto inferior direito) ---
+        private void desenharCurvaNernst(Graphics2D g2, int w, int h) {
+            int gw = 220;
+            int gh = 110;
+            int gx = w - gw - 15;
+            int gy = h - gh - 15;
+            int n = curvaNernst.length;
+
+            if (w != larguraCurva || h != alturaCurva) {
+                larguraCurva = w;
+                alturaCurva = h;
+                if (curvaX.length != n) {
+                    curvaX = new int[n];
+                    curvaY = new int[n];
+                }
+                eMin = Double.POSITIVE_INFINITY;
+                eMax = Double.NEGATIVE_INFINITY;
+                for (double e : curvaNernst) {
+                    eMin = Math.min(eMin, e);
+                    eMax = Math.max(eMax, e);
+                }
+                if (eMax - eMin < 1e-6) {
+                    eMin -= 0.05;
+                    eMax += 0.05;
+                }
+                rotuloMin = String.format("%.2f", eMin);
+                rotuloMax = String.format("%.2f", eMax);
+                for (int i = 0; i < n; i++) {
+                    curvaX[i] = gx + 30 + (int) ((gw - 40) * i / (double) Math.max(1, n - 1));
+                    curvaY[i] = gy + gh - 20 - (int) ((gh - 35) * (curvaNernst[i] - eMin) / (eMax - eMin));
+                }
+            }
+
+            g2.setColor(COR_FUNDO_GRAFICO);
+            g2.fillRect(gx, gy, gw, gh);
+            g2.setColor(Color.GRAY);
+            g2.setStroke(TRACO_FINO);
+            g2.drawRect(gx, gy, gw, gh);
+            g2.drawLine(gx + 30, gy + gh - 20, gx + gw - 10, gy + gh - 20);
+            g2.drawLine(gx + 30, gy + 15, gx + 30, gy + gh - 20);
+
+            g2.setColor(COR_CURVA);
+            g2.setStroke(TRACO_MEDIO);
+            g2.drawPolyline(curvaX, curvaY, n);
+
+            // Ponto das condições escolhidas
+            double fracao = (logMarcado - logDe) / (logAte - logDe);
+            if (fracao >= 0 && fracao <= 1) {
+                int px = gx + 30 + (int) ((gw - 40) * fracao);
+                int py = gy + gh - 20 - (int) ((gh - 35) * (eMarcado - eMin) / (eMax - eMin));
+                g2.fillOval(px - 4, py - 4, 8, 8);
+            }
+
+            g2.setColor(Color.BLACK);
+            g2.setFont(FONTE_LEGENDA);
+            g2.drawString("E (V) x log[íon do cátodo]", gx + 5, gy + 12);
+            g2.drawString(rotuloMax, gx + 2, gy + 25);
+            g2.drawString(rotuloMin, gx + 2, gy + gh - 22);
+            g2.drawString(rotuloDe, gx + 22, gy + gh - 5);
+            g2.drawString(rotuloAte, gx + gw - 30, gy + gh - 5);
+        }
+
         private void drawArrow(Graphics2D g2, int x1, int y1, int x2, int y2) {
             g2.drawLine(x1, y1, x2, y2);
             int arrowSize = 6;
@@ -432,6 +1270,15 @@ public class SimuladorSwing extends JFrame {
 
     public static void main(String[] args) {
         try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception ignored) {}
-        SwingUtilities.invokeLater(() -> new SimuladorSwing().setVisible(true));
+        // SimuladorSwing [--gravar diario] [arquivo de espécies]
+        Path especies = null;
+        Path diario = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--gravar") && i + 1 < args.length) diario = Path.of(args[++i]);
+            else especies = Path.of(args[i]);
+        }
+        Path arquivoEspecies = especies;
+        Path arquivoDiario = diario;
+        SwingUtilities.invokeLater(() -> new SimuladorSwing(arquivoEspecies, arquivoDiario).setVisible(true));
     }
 }
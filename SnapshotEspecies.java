@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+// --- SNAPSHOT BINÁRIO DO CATÁLOGO ---
+// Guarda as colunas do CatalogoEspecies ao lado do arquivo de origem ("especies.csv" -> "especies.csv.snap"),
+// para que a próxima abertura não precise ler o texto de novo. O snapshot é mapeado em memória e as
+// colunas são copiadas em bloco para os vetores primitivos; os objetos das espécies só nascem quando usados.
+//
+// Formato (versão 2, big-endian):
+//   cabeçalho: mágico, versão, revisão do leitor (CarregadorEspecies.REVISAO), tamanho e data da origem,
+//              n, quantidade de textos, bytes dos textos, CRC32
+//   textos:    deslocamentos int[quantidade + 1] + bytes UTF-8
+//   colunas:   ids, forma, formaOposta, simbolo, ordemPorPotencial (int[n]), potencial (double[n]),
+//              tipo, eletrons (byte[n])
+final class SnapshotEspecies {
+
+    private static final int MAGICO = 0x4F584953; // "OXIS"
+    private static final int VERSAO = 2;
+    private static final int TAMANHO_CABECALHO = 4 + 4 + 4 + 8 + 8 + 4 + 4 + 4 + 8;
+
+    private SnapshotEspecies() {}
+
+    static Path caminhoDoSnapshot(Path origem) {
+        return origem.resolveSibling(origem.getFileName() + ".snap");
+    }
+
+    // Usa o snapshot se ele estiver em dia com a origem; senão lê a origem e grava um novo
+    static CatalogoEspecies carregar(Path origem) throws IOException {
+        // Tamanho e data lidos antes do texto: se a origem mudar durante a leitura, o snapshot já nasce velho
+        BasicFileAttributes atributos = Files.readAttributes(origem, BasicFileAttributes.class);
+        CatalogoEspecies catalogo = lerSeAtual(origem, atributos);
+        if (catalogo != null) return catalogo;
+
+        catalogo = CarregadorEspecies.lerCatalogo(origem);
+        try {
+            gravar(catalogo, origem, atributos);
+        } catch (IOException e) {
+            // Pasta somente leitura etc.: o catálogo continua valendo, só não fica guardado
+            System.err.println("Não foi possível gravar o snapshot de " + origem + ": " + e.getMessage());
+        }
+        return catalogo;
+    }
+
+    // Devolve null se não houver snapshot, se for de outra versão ou de outra revisão do leitor (símbolo e
+    // elétrons calculados por regras antigas), se a origem mudou ou se o snapshot não puder ser lido
+    // (cortado, corrompido): nesses casos vale o texto, e o snapshot é refeito
+    static CatalogoEspecies lerSeAtual(Path origem, BasicFileAttributes atributos) {
+        Path snapshot = caminhoDoSnapshot(origem);
+        if (!Files.isRegularFile(snapshot)) return null;
+        try {
+            return lerSnapshot(snapshot, atributos);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static CatalogoEspecies lerSnapshot(Path snapshot, BasicFileAttributes atributos) throws IOException {
+        try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) return null;
+            ByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+
+            if (dados.getInt() != MAGICO || dados.getInt() != VERSAO || dados.getInt() != CarregadorEspecies.REVISAO) return null;
+            if (dados.getLong() != atributos.size() || dados.getLong() != atributos.lastModifiedTime().toMillis()) return null;
+            int n = dados.getInt();
+            int quantidadeTextos = dados.getInt();
+            int bytesTextos = dados.getInt();
+            long crcEsperado = dados.getLong();
+            if (n < 0 || quantidadeTextos < 0 || bytesTextos < 0
+                    || tamanho != TAMANHO_CABECALHO + tamanhoCorpo(n, quantidadeTextos, bytesTextos)) {
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(dados.duplicate());
+            if (crc.getValue() != crcEsperado) return null;
+
+            int[] deslocamentos = new int[quantidadeTextos + 1];
+            dados.asIntBuffer().get(deslocamentos);
+            dados.position(dados.position() + deslocamentos.length * 4);
+            int inicioTextos = dados.position();
+            byte[] utf8 = new byte[bytesTextos];
+            dados.get(utf8);
+            String[] textos = new String[quantidadeTextos];
+            for (int i = 0; i < quantidadeTextos; i++) {
+                int inicio = deslocamentos[i];
+                int fim = deslocamentos[i + 1];
+                if (inicio < 0 || fim < inicio || fim > bytesTextos) {
+                    throw new IOException("Snapshot corrompido (texto " + i + " em " + (inicioTextos + inicio) + ")");
+                }
+                textos[i] = new String(utf8, inicio, fim - inicio, StandardCharsets.UTF_8);
+            }
+
+            int[] ids = lerInts(dados, n);
+            int[] forma = lerInts(dados, n);
+            int[] formaOposta = lerInts(dados, n);
+            int[] simbolo = lerInts(dados, n);
+            int[] ordem = lerInts(dados, n);
+            double[] potencial = new double[n];
+            dados.asDoubleBuffer().get(potencial);
+            dados.position(dados.position() + n * 8);
+            byte[] tipo = new byte[n];
+            dados.get(tipo);
+            byte[] eletrons = new byte[n];
+            dados.get(eletrons);
+
+            for (int i = 0; i < n; i++) {
+                if (forma[i] >= quantidadeTextos || formaOposta[i] >= quantidadeTextos || simbolo[i] >= quantidadeTextos
+                        || forma[i] < 0 || formaOposta[i] < 0 || simbolo[i] < 0 || ordem[i] < 0 || ordem[i] >= n) {
+                    throw new IOException("Snapshot corrompido (espécie " + i + ")");
+                }
+                if (i > 0 && ids[i] <= ids[i - 1]) throw new IOException("Snapshot corrompido (IDs fora de ordem)");
+            }
+            return new CatalogoEspecies(ids, textos, forma, formaOposta, simbolo, tipo, eletrons, potencial, ordem);
+        }
+    }
+
+    // atributos: os da origem lidos ANTES de ler o texto que gerou o catálogo
+    static void gravar(CatalogoEspecies catalogo, Path origem, BasicFileAttributes atributos) throws IOException {
+        int n = catalogo.tamanho();
+
+        byte[][] utf8 = new byte[catalogo.textos.length][];
+        int bytesTextos = 0;
+        for (int i = 0; i < utf8.length; i++) {
+            utf8[i] = catalogo.textos[i].getBytes(StandardCharsets.UTF_8);
+            bytesTextos += utf8[i].length;
+        }
+
+        long tamanhoCorpo = tamanhoCorpo(n, utf8.length, bytesTextos);
+        if (TAMANHO_CABECALHO + tamanhoCorpo > Integer.MAX_VALUE) throw new IOException("Catálogo grande demais para o snapshot");
+        ByteBuffer corpo = ByteBuffer.allocate((int) tamanhoCorpo);
+
+        int deslocamento = 0;
+        for (byte[] texto : utf8) {
+            corpo.putInt(deslocamento);
+            deslocamento += texto.length;
+        }
+        corpo.putInt(deslocamento);
+        for (byte[] texto : utf8) corpo.put(texto);
+        escreverInts(corpo, catalogo.ids);
+        escreverInts(corpo, catalogo.forma);
+        escreverInts(corpo, catalogo.formaOposta);
+        escreverInts(corpo, catalogo.simbolo);
+        escreverInts(corpo, catalogo.ordemPorPotencial);
+        corpo.asDoubleBuffer().put(catalogo.potencial);
+        corpo.position(corpo.position() + n * 8);
+        corpo.put(catalogo.tipo);
+        corpo.put(catalogo.eletrons);
+        corpo.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(corpo.duplicate());
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.putInt(MAGICO).putInt(VERSAO).putInt(CarregadorEspecies.REVISAO)
+                .putLong(atributos.size()).putLong(atributos.lastModifiedTime().toMillis())
+                .putInt(n).putInt(utf8.length).putInt(bytesTextos).putLong(crc.getValue())
+                .flip();
+
+        // Grava num temporário e troca de uma vez, para nunca deixar um snapshot pela metade
+        Path snapshot = caminhoDoSnapshot(origem);
+        Path temporario = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (cabecalho.hasRemaining()) canal.write(cabecalho);
+            while (corpo.hasRemaining()) canal.write(corpo);
+        }
+        try {
+            Files.move(temporario, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long tamanhoCorpo(int n, int quantidadeTextos, int bytesTextos) {
+        return (quantidadeTextos + 1L) * 4 + bytesTextos + 5L * n * 4 + n * 8L + 2L * n;
+    }
+
+    private static int[] lerInts(ByteBuffer dados, int n) {
+        int[] valores = new int[n];
+        dados.asIntBuffer().get(valores);
+        dados.position(dados.position() + n * 4);
+        return valores;
+    }
+
+    private static void escreverInts(ByteBuffer corpo, int[] valores) {
+        corpo.asIntBuffer().put(valores);
+        corpo.position(corpo.position() + valores.length * 4);
+    }
+}
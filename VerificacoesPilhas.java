@@ -0,0 +1,239 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// --- VERIFICAÇÕES RÁPIDAS ---
+// Confere, sem Swing e sem dependências, as regras que já quebraram uma vez:
+//   formulas.*     cargas aceitas e recusadas por FormulaQuimica.ler
+//   balanco.*      equações globais e n de Zn/Cu, Zn/Cl2 e Zn/MnO4- (e o sinal de Nernst para o Cl-)
+//   pares.*        n padrão de Cl2/Cl- e a cadeia Fe3+/Fe2+/Fe num catálogo lido de CSV
+//   consultas.*    top-k e faixa de ddp do ConsultasPares contra a busca por força bruta
+//   snapshot.*     gravar e ler de volta o SnapshotEspecies
+//   diario.*       gravar e ler de volta o DiarioSessoes
+//
+//   javac -encoding UTF-8 *.java && java VerificacoesPilhas       (mvn test roda o mesmo)
+//
+// Mostra cada falha e termina com código 1 se houver alguma.
+final class VerificacoesPilhas {
+
+    private int verificadas = 0;
+    private final List<String> falhas = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        VerificacoesPilhas v = new VerificacoesPilhas();
+        Path pasta = Files.createTempDirectory("verificacoes-pilhas");
+        try {
+            v.formulas();
+            v.balanco();
+            v.pares(pasta);
+            v.consultas();
+            v.snapshot(pasta);
+            v.diario(pasta);
+        } finally {
+            try (Stream<Path> arquivos = Files.walk(pasta)) {
+                for (Path p : arquivos.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+
+        for (String falha : v.falhas) System.out.println("FALHOU " + falha);
+        System.out.println(v.verificadas + " verificações, " + v.falhas.size() + " falha(s)");
+        if (!v.falhas.isEmpty()) System.exit(1);
+    }
+
+    // --- FÓRMULAS ---
+
+    private void formulas() {
+        formula("Zn2+(aq)", "Zn", 2, "aq");
+        formula("Zn(s)", "Zn", 0, "s");
+        formula("O2-", "O", -2, "");
+        formula("MnO4-(aq)", "MnO4", -1, "aq");     // o 4 é índice do grupo
+        formula("NO3-", "NO3", -1, "");
+        formula("SO4 2-(aq)", "SO4", -2, "aq");
+        formula("SO4^2-", "SO4", -2, "");
+        formula("Hg2^2+", "Hg2", 2, "");
+        recusada("SO42-");
+        recusada("Hg22+");
+        recusada("Zn0+");
+        recusada("(aq)");
+    }
+
+    private void formula(String texto, String simbolo, int carga, String estado) {
+        try {
+            FormulaQuimica f = FormulaQuimica.ler(texto);
+            igual("formulas." + texto, simbolo + " " + carga + " " + estado, f.simbolo() + " " + f.carga() + " " + f.estado());
+        } catch (IllegalArgumentException e) {
+            verificar("formulas." + texto, false, e.getMessage());
+        }
+    }
+
+    private void recusada(String texto) {
+        try {
+            FormulaQuimica.ler(texto);
+            verificar("formulas." + texto, false, "deveria ser recusada");
+        } catch (IllegalArgumentException e) {
+            verificar("formulas." + texto, true, "");
+        }
+    }
+
+    // --- BALANCEAMENTO ---
+
+    private void balanco() {
+        informacoesEspecies zn = new informacoesEspecies("Zn(s)", "reduzida", "Zn2+(aq)", -0.76);
+        informacoesEspecies cu = new informacoesEspecies("Cu(s)", "reduzida", "Cu2+(aq)", 0.34);
+        informacoesEspecies cl = new informacoesEspecies("Cl-(aq)", "reduzida", "Cl2(g)", 1.36);
+        informacoesEspecies mn = new informacoesEspecies("Mn2+(aq)", "reduzida", "MnO4-(aq)", 1.51);
+
+        equacao("balanco.zn-cu", zn, cu, "Zn(s) + Cu2+(aq) -> Zn2+(aq) + Cu(s)", 2);
+        equacao("balanco.zn-cl2", zn, cl, "Zn(s) + Cl2(g) -> Zn2+(aq) + 2 Cl-(aq)", 2);
+        equacao("balanco.zn-mno4", zn, mn,
+                "5 Zn(s) + 2 MnO4-(aq) + 16 H+(aq) -> 5 Zn2+(aq) + 2 Mn2+(aq) + 8 H2O(l)", 10);
+        igual("balanco.semi-mno4", new BalanceadorEquacoes.Semirreacao(1, 1, 8, 4, 5),
+                BalanceadorEquacoes.semirreacao(FormulaQuimica.ler("MnO4-(aq)"), FormulaQuimica.ler("Mn2+(aq)")));
+
+        // Cl- é a forma reduzida: diluir o íon do cátodo sobe a fem (com Cu2+ ela desce)
+        AvaliadorPilhas.ResultadoPilha zincoCloro = AvaliadorPilhas.avaliar(zn, cl, null);
+        AvaliadorPilhas.ResultadoPilha zincoCobre = AvaliadorPilhas.avaliar(zn, cu, null);
+        double t = Nernst.TEMPERATURA_PADRAO;
+        verificar("balanco.nernst-cl", Nernst.potencial(zincoCloro, 1, 0.01, t) > zincoCloro.ddp(), "");
+        verificar("balanco.nernst-cu", Nernst.potencial(zincoCobre, 1, 0.01, t) < zincoCobre.ddp(), "");
+    }
+
+    private void equacao(String nome, informacoesEspecies anodo, informacoesEspecies catodo, String global, int eletrons) {
+        BalanceadorEquacoes.EquacaoBalanceada eq = BalanceadorEquacoes.balancear(anodo, catodo);
+        igual(nome, global + " (n = " + eletrons + ")", eq.global() + " (n = " + eq.eletrons() + ")");
+        verificar(nome + ".balanceada", eq.balanceada(), "");
+    }
+
+    // --- PARES DO CATÁLOGO ---
+
+    private void pares(Path pasta) throws IOException {
+        igual("pares.cl2-reduzida", 2, new informacoesEspecies("Cl-(aq)", "reduzida", "Cl2(g)", 1.36).eletrons());
+        igual("pares.cl2-oxidada", 2, new informacoesEspecies("Cl2(g)", "oxidada", "Cl-(aq)", 1.36).eletrons());
+
+        Path csv = pasta.resolve("cadeia.csv");
+        Files.writeString(csv, "oxidada;reduzida;potencial\nFe3+(aq);Fe2+(aq);0,77\nFe2+(aq);Fe(s);-0,44\nCl2(g);Cl-(aq);1,36\n");
+        CatalogoEspecies catalogo = CarregadorEspecies.lerCatalogo(csv);
+        igual("pares.cadeia-tamanho", 6, catalogo.tamanho());
+        igual("pares.fe2-em-dois-pares", 2, catalogo.posicoesDaForma("Fe2+(aq)").length);
+
+        int ferro = catalogo.posicaoDaEspecie("Fe(s)", "Fe2+(aq)");
+        int ferroso = catalogo.posicaoDaEspecie("Fe2+(aq)", "Fe3+(aq)");
+        verificar("pares.fe-posicoes", ferro >= 0 && ferroso >= 0, ferro + " " + ferroso);
+        if (ferro >= 0 && ferroso >= 0) {
+            equacao("pares.fe-fe3", catalogo.get(ferro), catalogo.get(ferroso), "Fe(s) + 2 Fe3+(aq) -> 3 Fe2+(aq)", 2);
+        }
+        int cloreto = catalogo.posicaoDaEspecie("Cl-(aq)", "Cl2(g)");
+        igual("pares.cl2-csv", 2, cloreto < 0 ? -1 : catalogo.get(cloreto).eletrons());
+    }
+
+    // --- CONSULTAS ---
+
+    private void consultas() {
+        CatalogoEspecies catalogo = BenchmarkPilhas.catalogoSintetico(300, 7);
+        ConsultasPares consultas = new ConsultasPares(catalogo);
+
+        // Força bruta: todos os pares de formas reduzidas
+        List<Double> ddps = new ArrayList<>();
+        for (int i = 0; i < catalogo.tamanho(); i++) {
+            if (!catalogo.isReduzida(i)) continue;
+            for (int j = i + 1; j < catalogo.tamanho(); j++) {
+                if (catalogo.isReduzida(j)) ddps.add(Math.abs(catalogo.getPotencial(j) - catalogo.getPotencial(i)));
+            }
+        }
+        ddps.sort(Comparator.reverseOrder());
+
+        int k = 200;
+        double[] esperadas = ddps.stream().limit(k).mapToDouble(Double::doubleValue).toArray();
+        double[] obtidas = consultas.maioresDdp(k).stream().mapToDouble(ConsultasPares.Par::ddp).toArray();
+        verificar("consultas.top-k", quaseIguais(esperadas, obtidas), obtidas.length + " pares");
+
+        for (double[] faixa : new double[][]{{0.5, 0.8}, {0, 0.05}, {1.2, 1.2}, {4, 10}}) {
+            double minimo = faixa[0] - ConsultasPares.TOLERANCIA;
+            double maximo = faixa[1] + ConsultasPares.TOLERANCIA;
+            long esperado = ddps.stream().filter(d -> d >= minimo && d <= maximo).count();
+            igual("consultas.faixa " + Arrays.toString(faixa), esperado, consultas.contarNaFaixa(faixa[0], faixa[1]));
+            igual("consultas.lista " + Arrays.toString(faixa), (int) Math.min(esperado, 50),
+                    consultas.paresNaFaixa(faixa[0], faixa[1], 50).size());
+        }
+    }
+
+    private static boolean quaseIguais(double[] a, double[] b) {
+        if (a.length != b.length) return false;
+        for (int i = 0; i < a.length; i++) if (Math.abs(a[i] - b[i]) > ConsultasPares.TOLERANCIA) return false;
+        return true;
+    }
+
+    // --- SNAPSHOT ---
+
+    private void snapshot(Path pasta) throws IOException {
+        Path csv = pasta.resolve("especies.csv");
+        Files.writeString(csv, "Zn2+(aq);Zn(s);-0,76\nCu2+(aq);Cu(s);0,34\nMnO4-(aq);Mn2+(aq);1.51;5\nFe3+(aq);Fe2+(aq);0,77\nFe2+(aq);Fe(s);-0,44\n");
+        CatalogoEspecies lido = SnapshotEspecies.carregar(csv);
+        verificar("snapshot.gravado", Files.isRegularFile(SnapshotEspecies.caminhoDoSnapshot(csv)), "");
+
+        CatalogoEspecies deVolta = SnapshotEspecies.lerSeAtual(csv, Files.readAttributes(csv, BasicFileAttributes.class));
+        verificar("snapshot.lido", deVolta != null, "snapshot recusado");
+        if (deVolta == null) return;
+        igual("snapshot.tamanho", lido.tamanho(), deVolta.tamanho());
+        for (int i = 0; i < lido.tamanho(); i++) {
+            igual("snapshot.especie " + lido.getId(i), lido.get(i), deVolta.get(i));
+            igual("snapshot.id " + lido.getId(i), lido.getId(i), deVolta.getId(i));
+        }
+        igual("snapshot.ordem", lido.ordenadasPorPotencial(), deVolta.ordenadasPorPotencial());
+    }
+
+    // --- DIÁRIO ---
+
+    private void diario(Path pasta) throws IOException {
+        Path arquivo = pasta.resolve("sessoes.oxil");
+        CatalogoEspecies catalogo = EspeciesPadrao.CATALOGO;
+        try (DiarioSessoes.Gravador gravador = new DiarioSessoes.Gravador(arquivo, catalogo)) {
+            gravador.selecao(1_000, 3, DiarioSessoes.ACEITA_PRIMEIRA);
+            gravador.selecao(1_250, 8, DiarioSessoes.PILHA_MONTADA);
+            gravador.resultado(1_300, 1.1, 2);
+            gravador.condicoes(2_000, true, 0.1, 1.0, 310.0, 1.13);
+            gravador.fimSessao(2_500);
+        }
+
+        List<String> registros = new ArrayList<>();
+        try (DiarioSessoes.Leitor leitor = new DiarioSessoes.Leitor(arquivo)) {
+            while (leitor.proximo()) {
+                registros.add(switch (leitor.tipo) {
+                    case DiarioSessoes.INICIO -> "INICIO " + leitor.instante + " " + (leitor.impressao == DiarioSessoes.impressao(catalogo))
+                            + " " + leitor.especies;
+                    case DiarioSessoes.SELECAO -> "SELECAO +" + leitor.intervalo + " " + leitor.id + " " + leitor.desfecho;
+                    case DiarioSessoes.RESULTADO -> "RESULTADO +" + leitor.intervalo + " " + leitor.ddp + " " + leitor.eletrons;
+                    case DiarioSessoes.CONDICOES -> "CONDICOES +" + leitor.intervalo + " " + leitor.nernst + " " + leitor.concAnodo
+                            + " " + leitor.concCatodo + " " + leitor.temperatura + " " + leitor.potencial;
+                    default -> "FIM +" + leitor.intervalo;
+                });
+            }
+            verificar("diario.inteiro", !leitor.isCortado(), "registro cortado");
+        }
+        igual("diario.registros", List.of(
+                "INICIO 1000 true " + catalogo.tamanho(),
+                "SELECAO +0 3 " + DiarioSessoes.ACEITA_PRIMEIRA,
+                "SELECAO +250 8 " + DiarioSessoes.PILHA_MONTADA,
+                "RESULTADO +50 1.1 2",
+                "CONDICOES +700 true 0.1 1.0 310.0 1.13",
+                "FIM +500"), registros);
+    }
+
+    // --- AUXILIARES ---
+
+    private void igual(String nome, Object esperado, Object obtido) {
+        verificar(nome, Objects.equals(esperado, obtido), "esperado " + esperado + ", veio " + obtido);
+    }
+
+    private void verificar(String nome, boolean ok, String detalhe) {
+        verificadas++;
+        if (!ok) falhas.add(nome + (detalhe.isEmpty() ? "" : ": " + detalhe));
+    }
+}
@@ -0,0 +1,37 @@
+// --- 1. ESTRUTURA DE DADOS ---
+// As fórmulas são lidas uma vez na criação; os métodos auxiliares só devolvem campos prontos.
+// eletrons = elétrons trocados entre as duas formas do par (ex: Zn2+/Zn -> 2, MnO4-/Mn2+ -> 5, Cl2/Cl- -> 2).
+record informacoesEspecies(String forma, String tipo, String formaOposta, double potencial, int eletrons,
+                           FormulaQuimica formula, FormulaQuimica formulaOposta) {
+
+    // Sem o número de elétrons: vem da semirreação balanceada do par (BalanceadorEquacoes.eletronsDoPar)
+    informacoesEspecies(String forma, String tipo, String formaOposta, double potencial) {
+        this(forma, tipo, formaOposta, potencial, FormulaQuimica.ler(forma), FormulaQuimica.ler(formaOposta));
+    }
+
+    informacoesEspecies(String forma, String tipo, String formaOposta, double potencial, int eletrons) {
+        this(forma, tipo, formaOposta, potencial, eletrons, FormulaQuimica.ler(forma), FormulaQuimica.ler(formaOposta));
+    }
+
+    private informacoesEspecies(String forma, String tipo, String formaOposta, double potencial,
+                                FormulaQuimica formula, FormulaQuimica formulaOposta) {
+        this(forma, tipo, formaOposta, potencial, tipo.equals("reduzida")
+                ? BalanceadorEquacoes.eletronsDoPar(formulaOposta, formula)
+                : BalanceadorEquacoes.eletronsDoPar(formula, formulaOposta), formula, formulaOposta);
+    }
+
+    // Método auxiliar para pegar só o símbolo (ex: "Zn(s)" -> "Zn")
+    public String getSimbolo() {
+        return formula.simbolo();
+    }
+    
+    // Método auxiliar para pegar a carga do íon (ex: "Zn2+(aq)" -> "Zn2+")
+    public String getSimboloIon() {
+        return formulaOposta.rotulo();
+    }
+
+    // Carga desta forma (ex: "Zn2+(aq)" -> 2, "Zn(s)" -> 0)
+    public int getCarga() {
+        return formula.carga();
+    }
+}
@@ -0,0 +1,81 @@
+package simulador.jmh;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// --- BENCHMARKS JMH DOS CAMINHOS QUENTES ---
+// As mesmas operações do BenchmarkPilhas, medidas pelo JMH (forks, aquecimento, sumidouro do próprio JMH):
+//   mvn -P jmh package && java -jar target/benchmarks.jar [regex] [-p pares=20,100000]
+// O JMH não aceita benchmarks no pacote padrão e um pacote nomeado não enxerga as classes de lá,
+// então cada operação é montada uma vez pelo BenchmarkPilhas.operacao (via reflexão, fora da medida).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PilhasJmh {
+
+    @State(Scope.Thread)
+    public static class Catalogo {
+        @Param({"resolucao.idPorForma", "resolucao.validar", "avaliacao.selecao", "simbolo.ler"})
+        public String operacao;
+
+        @Param({"20", "1000", "10000", "100000"})
+        public int pares;
+
+        IntToLongFunction executar;
+        int i;
+
+        @Setup(Level.Trial)
+        public void montar() throws ReflectiveOperationException {
+            executar = PilhasJmh.operacao(operacao, pares);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Render {
+        @Param({"render.cache", "render.frio"})
+        public String operacao;
+
+        @Param({"640x480", "1280x800", "1920x1080"})
+        public String tamanho;
+
+        IntToLongFunction executar;
+        int i;
+
+        @Setup(Level.Trial)
+        public void montar() throws ReflectiveOperationException {
+            System.setProperty("java.awt.headless", "true");
+            executar = PilhasJmh.operacao(operacao + "." + tamanho, 0);
+        }
+    }
+
+    @Benchmark
+    public long catalogo(Catalogo estado) {
+        return estado.executar.applyAsLong(estado.i++);
+    }
+
+    @Benchmark
+    public long render(Render estado) {
+        return estado.executar.applyAsLong(estado.i++);
+    }
+
+    private static IntToLongFunction operacao(String nome, int pares) throws ReflectiveOperationException {
+        Method fabrica = Class.forName("BenchmarkPilhas").getDeclaredMethod("operacao", String.class, int.class);
+        fabrica.setAccessible(true);
+        return (IntToLongFunction) fabrica.invoke(null, nome, pares);
+    }
+}